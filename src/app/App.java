@@ -4,13 +4,17 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Scanner;
 
+import structures.BFSResult;
 import structures.Graph;
 import structures.HashTable;
+import structures.IntList;
 import structures.BST;
 import structures.List;
+import structures.OpenHashTable;
+import structures.PostingIndex;
+import structures.TopK;
 
 /**
  * App.java
@@ -23,14 +27,21 @@ import structures.List;
  * CIS 22C, Final Project
  */
 public class App {
+	private static final int MAX_RECOMMENDATIONS = 10; // recommendations shown at once
+	private static final int RECOMMENDATION_HOPS = 3; // farthest distance to recommend from
+	
 	private User currentUser;
 	private Graph network;
-    private List<User> userList; // list of all users
-	private HashTable<User> loginTable; // hashed by username
-	private HashTable<User> nameTable; // hashed by first name
+    private UserRegistry registry; // all users, indexed by id
+	private OpenHashTable<User> loginTable; // hashed by username
+	private PostingIndex nameTable; // user ids by first name
+	private OpenHashTable<User> fullNameTable; // hashed by "first last"
 	private List<Interest> interestList;
 	private List<BST<User>> interestBSTs;
 	private HashTable<BST<User>> interestTable; // hashed by interest
+	private BFSResult pathForward; // reused by every degrees of separation query
+	private BFSResult pathBackward;
+	private BFSResult neighborhood; // reused by every recommendation search
     private Scanner userInput;
 	private boolean exitFlag;
     
@@ -49,13 +60,16 @@ public class App {
 	 */
 	public App(File usersFile, File friendsFile) throws FileNotFoundException {
 		userInput = new Scanner(System.in);
-		userList = new List<>();
+		registry = new UserRegistry();
         interestList = new List<>();
         interestBSTs = new List<>();
 		int numUsers = readUsersFromFile(usersFile); // create users and hash tables
-		network = new Graph(numUsers + 1); // 1 extra spot in case a new user is created
-		userListToLoginTable();
-		userListToNameTable();
+		network = new Graph(numUsers); // new users add their own vertex on signup
+		pathForward = new BFSResult();
+		pathBackward = new BFSResult();
+		neighborhood = new BFSResult();
+		registryToLoginTable();
+		registryToNameTable();
 		interestListToInterestTable();
 		System.out.println("Welcome to JavaBook. Please login.\n");
 		currentUser = userLogin();
@@ -90,7 +104,7 @@ public class App {
 			String password = reader.nextLine().trim();
 			String city = reader.nextLine().trim();
 			// create new user using scanned data
-			User user = new User(name[0], name[1], username, password, city);
+			User user = new User(registry.allocateId(), name[0], name[1], username, password, city);
 			// read list of user's interests
 			String interest = reader.nextLine().trim();
 			while(!interest.equals("")) {
@@ -120,7 +134,7 @@ public class App {
 					interest = "";
 				}
 			}
-            userList.addLast(user);
+            registry.add(user);
 			userCount++;
 		}
 		reader.close();
@@ -131,14 +145,14 @@ public class App {
 	 * Reads friend data from an input file
 	 * and initializes network graph
 	 * 
-	 * @precondition nameTable is not null
+	 * @precondition fullNameTable is not null
 	 * @param friendsFile file to read friend data from
 	 * @throws FileNotFoundException if file cannot be found
-	 * @throws IllegalStateException if nameTable is null
+	 * @throws IllegalStateException if fullNameTable is null
 	 */
 	private void readFriendsFromFile(File friendsFile) throws FileNotFoundException, IllegalStateException {
-		if (nameTable == null) {
-			throw new IllegalStateException("Something went wrong while initializing the nameTable.");
+		if (fullNameTable == null) {
+			throw new IllegalStateException("Something went wrong while initializing the fullNameTable.");
 		}
 		Scanner reader;
 		try {
@@ -150,14 +164,12 @@ public class App {
 		// initialize friends BSTs and graph edges
 		while (reader.hasNext()) {
 			String fullName = reader.nextLine().trim();
-			String[] name = fullName.split(" ");
-			User user = nameTable.get(name[0], new User(name[0], name[1]), new FullNameComparator());
+			User user = fullNameTable.get(fullName);
 			// read list of user's friends
 			String friendFullName = reader.nextLine().trim();
 			while (!friendFullName.equals("")) {
-				String[] friendName = friendFullName.split(" ");
 				// get friend's account from hash table
-				User friend = nameTable.get(friendName[0], new User(friendName[0], friendName[1]), new FullNameComparator());
+				User friend = fullNameTable.get(friendFullName);
 				// add to user's friends list
 				user.addFriend(friend);
 				// update network graph
@@ -177,29 +189,25 @@ public class App {
 	 */
         
     /**
-	 * Convert userList into HashTable loginTable
+	 * Convert registry into HashTable loginTable
 	 */
-	private void userListToLoginTable(){
-        loginTable = new HashTable<User>(userList.getLength());
-        userList.placeIterator();
-        for(int i = 0; i< userList.getLength(); i++){
-            User user = userList.getIterator();
-        	loginTable.put(user.getUsername(), user);
-            userList.advanceIterator();
+	private void registryToLoginTable(){
+        loginTable = new OpenHashTable<User>(registry.getSize(), User::getUsername);
+        for (User user : registry) {
+        	loginTable.put(user);
         }
     }
         
 	/**
-	 * Convert userList into HashTable nameTable
+	 * Convert registry into the nameTable index and the fullNameTable
 	 * Call this whenever you want to access HashTable
 	 */
-    private void userListToNameTable(){
-        nameTable = new HashTable<User>(userList.getLength());
-        userList.placeIterator();
-        for(int i = 0; i< userList.getLength(); i++){
-        	User user = userList.getIterator();
-        	nameTable.put(user.getFirstName(), user);
-            userList.advanceIterator();
+    private void registryToNameTable(){
+        nameTable = new PostingIndex(registry.getSize());
+        fullNameTable = new OpenHashTable<User>(registry.getSize(), User::getFullName);
+        for (User user : registry) {
+        	nameTable.add(user.getFirstName(), user.getId());
+        	fullNameTable.put(user);
         }
     }
     
@@ -236,7 +244,7 @@ public class App {
             System.out.print("Enter your password: ");
             String password = userInput.nextLine().trim();
             
-            user = loginTable.get(username, new User(username), new UsernameComparator());
+            user = loginTable.get(username);
             if(user != null){
             	if(user.checkPassword(password)){
             		break;
@@ -252,8 +260,10 @@ public class App {
                 
                 if(choice.equalsIgnoreCase("yes")){
                     user = newUserCreation();
-                    userListToLoginTable();
-                    userListToNameTable();
+                    // the tables grow on their own, so just index the new user
+                    loginTable.put(user);
+                    nameTable.add(user.getFirstName(), user.getId());
+                    fullNameTable.put(user);
                 }
             }
         }
@@ -271,7 +281,7 @@ public class App {
     	while(true){
             System.out.print("Enter username: ");
             String newUserName = userInput.nextLine().trim();
-            user = loginTable.get(newUserName, new User(newUserName), new UsernameComparator());
+            user = loginTable.get(newUserName);
             if(user != null){
                 System.out.println("Username already exist.");
             } else {
@@ -283,10 +293,13 @@ public class App {
                 String lastName = userInput.nextLine().trim();
                 System.out.print("Enter city: ");
                 String city = userInput.nextLine().trim();
-                currentUser = user = new User(firstName, lastName, newUserName, password, city);
-                userList.placeIterator();
+                currentUser = user = new User(registry.allocateId(), firstName, lastName, newUserName, password, city);
+                network.addVertex(); // ids are dense, so the new vertex is the new user's id
                 boolean exit = false;
-                List<User> users = new List<>(userList);
+                List<User> users = new List<>();
+                for (User other : registry) {
+                	users.addLast(other);
+                }
                 while (!exit) {
                 	System.out.println("Users:");
                 	users.printNumberedList();
@@ -307,7 +320,6 @@ public class App {
                 			users.iteratorToIndex(selection - 1);
                 			User friend = users.getIterator();
                 			addFriend(friend);
-                			addConnection(currentUser, friend);
     						System.out.println(friend.getFullName()
     								+ " has been added as a friend.\n");
     						users.removeIterator();
@@ -328,7 +340,7 @@ public class App {
                 		System.out.println("Please enter an option 1-2.");
                 	}
                 }
-                userList.addLast(user);
+                registry.add(user);
                 break;
             }
         }
@@ -381,6 +393,7 @@ public class App {
 			currentUser.addFriend(friend);
 			friend.addFriend(currentUser);
 			addConnection(currentUser, friend);
+			addConnection(friend, currentUser);
 		} catch (NullPointerException e) {
 			System.out.println(e.getMessage());
 		}
@@ -430,7 +443,8 @@ public class App {
 				+ "1. My Friends\n"
 				+ "2. Search Users\n"
 				+ "3. Friend Recommendations\n"
-				+ "4. Exit\n"
+				+ "4. Degrees of Separation\n"
+				+ "5. Exit\n"
 				+ "> ");	
 		int selection = Integer.valueOf(userInput.nextLine().trim());
 		switch (selection) {
@@ -466,7 +480,6 @@ public class App {
 						User user = recommendations.getIterator();
 						// add user to friends list and add adjacency in network
 						addFriend(user);
-						addConnection(currentUser, user);
 						System.out.println(user.getFullName()
 								+ " has been added as a friend.\n");
 						recommendations.removeIterator();
@@ -486,13 +499,47 @@ public class App {
 			break;
 		}
 		case 4:
+			degreesOfSeparation();
+			break;
+		case 5:
 			exit();
 			break;
 		default:
-			System.out.println("Please enter an option 1-4.");
+			System.out.println("Please enter an option 1-5.");
 		}
 	}
 	
+	/**
+	 * Prompts for another user's full name and prints the
+	 * shortest chain of friends connecting the current user to them
+	 */
+	private void degreesOfSeparation() {
+		System.out.print("\nUser's full name: ");
+		String fullName = userInput.nextLine().trim();
+		User other = fullNameTable.get(fullName);
+		if (other == null) {
+			System.out.println("There is no user named " + fullName + ".");
+		} else if (other == currentUser) {
+			System.out.println("That is you!");
+		} else {
+			IntList path = network.shortestPath(currentUser.getId(), other.getId(), pathForward, pathBackward);
+			if (path == null) {
+				System.out.println("You are not connected to " + other.getFullName() + ".");
+			} else {
+				int degrees = path.getLength() - 1;
+				System.out.println("\n" + other.getFullName() + " is " + degrees
+						+ (degrees == 1 ? " degree" : " degrees") + " away from you:");
+				StringBuilder chain = new StringBuilder("You");
+				for (int i = 1; i < path.getLength(); i++) {
+					chain.append(" -> ").append(registry.byId(path.get(i)).getFullName());
+				}
+				System.out.println(chain);
+			}
+		}
+		System.out.println("\nPress enter to continue...");
+		userInput.nextLine();
+	}
+	
 	/**
 	 * Prints the main menu to console and reads user input
 	 */
@@ -515,13 +562,11 @@ public class App {
 			case 2: {
 				boolean exit1 = false;
 				while (!exit1) {
-					List<User> friends = currentUser.getFriends().toListInOrder();
-					int index = 0;
+					BST<User> friends = currentUser.getFriends();
+					int numFriends = friends.getSize(), index = 0;
 					System.out.println("\nYour friends:\n");
-					friends.placeIterator();
-					while (!friends.offEnd()) {
-						System.out.println(++index + ": " + friends.getIterator().getFullName() + "\n");
-						friends.advanceIterator();
+					for (User friend : friends) {
+						System.out.println(++index + ": " + friend.getFullName() + "\n");
 					}
 					System.out.print("Please select an option below:\n"
 							+ "1. View a friend's profile\n"
@@ -531,14 +576,13 @@ public class App {
 					switch (selection) {
 					case 1:
 						System.out.print("Which friend's profile would you like to view? "
-								+ "(Enter a number 1-" + friends.getLength() + ")\n"
+								+ "(Enter a number 1-" + numFriends + ")\n"
 								+ "> ");
 						selection = Integer.valueOf(userInput.nextLine().trim());
-						if (selection < 1 || selection > friends.getLength()) {
+						if (selection < 1 || selection > numFriends) {
 							System.out.println("Invalid selection.");
 						} else {
-							friends.iteratorToIndex(selection - 1);
-							System.out.println(friends.getIterator());
+							System.out.println(friends.select(selection - 1));
 							System.out.println("\nPress enter to continue...");
 							userInput.nextLine();
 						}
@@ -554,13 +598,11 @@ public class App {
 			case 3: {
 				boolean exit1 = false;
 				while (!exit1) {
-					List<User> friends = currentUser.getFriends().toListInOrder();
-					int index = 0;
+					BST<User> friends = currentUser.getFriends();
+					int numFriends = friends.getSize(), index = 0;
 					System.out.println("\nYour friends:\n");
-					friends.placeIterator();
-					while (!friends.offEnd()) {
-						System.out.println(++index + ": " + friends.getIterator().getFullName() + "\n");
-						friends.advanceIterator();
+					for (User friend : friends) {
+						System.out.println(++index + ": " + friend.getFullName() + "\n");
 					}
 					System.out.print("Please select an option below:\n"
 							+ "1. Remove a friend\n"
@@ -570,18 +612,17 @@ public class App {
 					switch (selection) {
 					case 1:
 						System.out.print("Which friend would you like to remove? "
-								+ "(Enter a number 1-" + friends.getLength() + ")\n"
+								+ "(Enter a number 1-" + numFriends + ")\n"
 								+ "> ");
 						selection = Integer.valueOf(userInput.nextLine().trim());
-						if (selection < 1 || selection > friends.getLength()) {
+						if (selection < 1 || selection > numFriends) {
 							System.out.println("Invalid selection.");
 						} else {
-							friends.iteratorToIndex(selection - 1);
+							User friend = friends.select(selection - 1);
 							// remove friend from friends list and remove adjacency from network 
-							removeFriend(friends.getIterator());
-							System.out.println(friends.getIterator().getFullName()
+							removeFriend(friend);
+							System.out.println(friend.getFullName()
 									+ " has been removed from your friends list.");
-							friends.removeIterator();
 							System.out.println("\nPress enter to continue...");
 							userInput.nextLine();
 						}
@@ -726,32 +767,23 @@ public class App {
 	 * Finds user(s) that match the given name
 	 * and are not friends with the current user
 	 * If only one name is given, it is assumed to be the first name
+	 * Matches are streamed from the nameTable index and filtered
+	 * as they arrive, so only the users returned are copied
 	 * 
 	 * @param fullName first name or full name of the users to search
-	 * @return an ArrayList containing all users that have the given name
+	 * @return a List containing all users that have the given name
 	 * and are not friends with the current user, or null if no users are found
 	 */
 	private List<User> findUsers(String fullName) {
 		String[] name = fullName.split(" ");
-		List<User> l = new List<User>();
-		if (name.length > 1) {
-			l = nameTable.getAll(name[0], new User(name[0], name[1]), new NameComparator());
-		} else {
-			l = nameTable.getAll(name[0], new User(name[0], "unknown"), new NameComparator());	
-		}
-		if (l != null) {
-			List<User> curFriends = currentUser.getFriends().toListInOrder();
-			l.placeIterator();
-			while (!l.offEnd()) {
-				if (l.getIterator() == currentUser || 
-						curFriends.linearSearch(l.getIterator(), new FullNameComparator()) != -1) {
-					l.removeIterator();
-				} else {
-					l.advanceIterator();
-				}
+		List<User> l = new List<>();
+		nameTable.forEach(name[0], id -> {
+			User user = registry.byId(id);
+			if (user != currentUser && !isFriend(user)) {
+				l.addLast(user);
 			}
-		}
-		return l;
+		});
+		return l.getLength() > 0 ? l : null;
 	}
 	
 	/**
@@ -773,11 +805,9 @@ public class App {
         List<User> users = list.getIterator().toListInOrder();
 		//i = interestTable.get(interest.getInterest(), i, new InterestComparator());
         if (users != null) {
-			List<User> curFriends = currentUser.getFriends().toListInOrder();
 			users.placeIterator();
 			while (!users.offEnd()) {
-				if (users.getIterator() == currentUser || 
-						curFriends.linearSearch(users.getIterator(), new FullNameComparator()) != -1) {
+				if (users.getIterator() == currentUser || isFriend(users.getIterator())) {
 					users.removeIterator();
 				} else {
 					users.advanceIterator();
@@ -787,51 +817,53 @@ public class App {
         return users;
 	}
 	
+	/**
+	 * Determines whether a user is in the current user's friends list
+	 * Stops reading the friends tree at the first match
+	 * 
+	 * @param user the user to look for
+	 * @return whether a friend has the same full name as user
+	 */
+	private boolean isFriend(User user) {
+		FullNameComparator c = new FullNameComparator();
+		for (User friend : currentUser.getFriends()) {
+			if (c.compare(friend, user) == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
 	 * Compiles a list of friend recommendations within the user's social circle
-	 * This includes friends of friends of any distance
-	 * Recommendations are ranked in order of distance and number of common interests
+	 * This includes friends of friends up to RECOMMENDATION_HOPS away
+	 * Recommendations are ranked in order of distance, number of mutual
+	 * friends and number of common interests
+	 * Only the neighborhood within the horizon is searched, and each candidate
+	 * is scored once and offered to a TopK, so only the
+	 * best MAX_RECOMMENDATIONS are kept and sorted
 	 * 
-	 * @return a List containing all users that can be
-	 * recommended to the current user, ranked in order of distance and common interests
+	 * @return a List containing the users that can be recommended to the
+	 * current user, ranked in order of distance, mutual friends and common interests
 	 */
 	private List<User> getRecommendations() {
-		network.BFS(currentUser.getId());
-		ArrayList<User> recommendList = new ArrayList<>();
-		List<User> recommendations = new List<>();
+		// reusing the result clears only the users the previous search reached
+		BFSResult search = network.expand(currentUser.getId(), RECOMMENDATION_HOPS, neighborhood);
+		TopK<User> best = new TopK<>(MAX_RECOMMENDATIONS);
 		
-		for (int i = 1; i <= network.getNumVertices(); i++) {
+		for (int i = 0; i < search.getNumReached(); i++) {
 			// recommend users who have a distance >= 2 from the current user  
-			if (network.getDistance(i) >= 2) {
-				userList.iteratorToIndex(i - 1);
-				recommendList.add(userList.getIterator());
+			int id = search.getReached(i), distance = search.getDistance(id);
+			if (distance >= 2) {
+				User user = registry.byId(id);
+				// for a friend of a friend, the shortest paths are the mutual friends
+				long mutual = Math.min(search.getPathCount(id), 0xFFFFFF);
+				int interests = Math.min(user.compareInterests(currentUser), 0xFFFFFF);
+				// closer is better, then more mutual friends, then more common interests
+				best.offer(user, ((long) -distance << 48) | (mutual << 24) | interests);
 			}
 		}
-		// sort recommendations in order of distance and common interests
-		// bubble sort - O(n^2) time complexity
-		for (int i = 0; i < recommendList.size(); i++) {
-			for (int j = 0; j < recommendList.size() - i - 1; j++) {
-				User user1 = recommendList.get(j), user2 = recommendList.get(j + 1);
-				int distance1 = network.getDistance(user1.getId()),
-						distance2 = network.getDistance(user2.getId());
-				if (distance1 > distance2) {
-					User temp = recommendList.get(j);
-					recommendList.set(j, recommendList.get(j + 1));
-					recommendList.set(j + 1, temp);
-				} else if (distance1 == distance2) {
-					if (user1.compareInterests(currentUser) < user2.compareInterests(currentUser)) {
-						User temp = recommendList.get(j);
-						recommendList.set(j, recommendList.get(j + 1));
-						recommendList.set(j + 1, temp);
-					}
-				}
-			}
-		}
-		// fill recommendations List with sorted ArrayList elements
-		for (int i = 0; i < recommendList.size(); i++) {
-			recommendations.addLast(recommendList.get(i));
-		}
-		return recommendations;
+		return best.toList();
 	}
 	
 	/**
@@ -853,36 +885,23 @@ public class App {
 			writeUsers = new FileWriter(usersFile);
 			writeFriends = new FileWriter(friendsFile);
 			// write to users.txt
-			userList.placeIterator();
-			while (!userList.offEnd()) {
-				User user = userList.getIterator();
+			for (User user : registry) {
 				writeUsers.write(user.getFullName() + '\n');
 				writeUsers.write(user.getUsername() + '\n');
 				writeUsers.write(user.getPassword() + '\n');
 				writeUsers.write(user.getCity() + '\n');
-				List<Interest> interests = user.getInterests();
-				interests.placeIterator();
-				while (!interests.offEnd()) {
-					writeUsers.write(interests.getIterator().getInterest() + '\n');
-					interests.advanceIterator();
+				for (Interest interest : user.getInterests()) {
+					writeUsers.write(interest.getInterest() + '\n');
 				}
 				writeUsers.write('\n');
-				userList.advanceIterator();
 			}
 			// write to friends.txt
-			userList.placeIterator();
-			while (!userList.offEnd()) {
-				User user = userList.getIterator();
+			for (User user : registry) {
 				writeFriends.write(user.getFullName() + '\n');
-				BST<User> friends = user.getFriends();
-				List<User> friendsList = friends.toListInOrder();
-				friendsList.placeIterator();
-				while (!friendsList.offEnd()) {
-					writeFriends.write(friendsList.getIterator().getFullName() + '\n');
-					friendsList.advanceIterator();
+				for (User friend : user.getFriends()) {
+					writeFriends.write(friend.getFullName() + '\n');
 				}
 				writeFriends.write('\n');
-				userList.advanceIterator();
 			}
 			writeUsers.close();
 			writeFriends.close();
@@ -17,7 +17,6 @@ import structures.BST;
  */
 public class User {
 
-    private static int count = 0;
     private String firstName;
     private String lastName;
     private String username;
@@ -69,13 +68,14 @@ public class User {
     /**
      * Create a new instance of User
      *
+     * @param id user's id, allocated by the UserRegistry
      * @param firstName user's first name
      * @param lastName user's last name
      * @param username user's username
      * @param password user's password in plain text
      * @param city user's city of residence
      */
-    public User(String firstName, String lastName, String username,
+    public User(int id, String firstName, String lastName, String username,
             String password, String city) {
         this.firstName = firstName;
         this.lastName = lastName;
@@ -84,7 +84,7 @@ public class User {
         this.city = city;
         this.friends = new BST<User>();
         this.interests = new List<Interest>();
-        this.id = ++count;
+        this.id = id;
     }
 
     /**
@@ -252,16 +252,13 @@ public class User {
     
     /**
      *  Hash code method to implement into the Hash Table
+     *  Uses the username's String hash, which depends on
+     *  character order, so anagram usernames do not collide
      * @return the hash
      */
     @Override
     public int hashCode() {
-        int sum = 0;
-        char eArray[] = username.toCharArray();
-        for (int i = 0; i < username.length(); i++) {
-            sum += (int) eArray[i];
-        }
-        return Math.abs(sum);
+        return username.hashCode();
     }
 
     /**
@@ -315,17 +312,13 @@ public class User {
      */
     public int compareInterests(User other) {
     	int count = 0;
-    	interests.placeIterator();
     	// O(n^2) time complexity
-    	while (!interests.offEnd()) {
-    		other.interests.placeIterator();
-    		while(!other.interests.offEnd()) {
-    			if (interests.getIterator().equals(other.interests.getIterator())) {
+    	for (Interest mine : interests) {
+    		for (Interest theirs : other.interests) {
+    			if (mine.equals(theirs)) {
     				count++;
     			}
-    			other.interests.advanceIterator();
     		}
-    		interests.advanceIterator();
     	}
     	return count;
     }
@@ -341,12 +334,12 @@ public class User {
     			+ "Username: " + username + "\n"
     			+ "City: " + city + "\n"
     			+ "Interests: ";
-    	interests.placeIterator();
-    	for (int i = 0; i < interests.getLength() - 1; i++) {
-    		str += interests.getIterator() + ", ";
-    		interests.advanceIterator();
+    	String separator = "";
+    	for (Interest interest : interests) {
+    		str += separator + interest;
+    		separator = ", ";
     	}
-    	return str + interests.getIterator();
+    	return str;
     }
 }
 
@@ -0,0 +1,159 @@
+package app;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * UserRegistry.java
+ *
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri CIS 22C, Final Project
+ */
+
+/**
+ * Every user of the app, stored in a growable array indexed by id
+ * Ids are handed out by the registry, starting at 1 with no gaps, so
+ * they double as vertex numbers in the friend network and byId is a
+ * single array read
+ */
+public class UserRegistry implements Iterable<User> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private User[] users; // users[id - 1], or null while an allocated id is not yet added
+    private int nextId;
+    private int size;
+
+    /**
+     * Creates an empty registry
+     */
+    public UserRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty registry with room for capacity users before growing
+     *
+     * @param capacity the number of users expected
+     */
+    public UserRegistry(int capacity) {
+        users = new User[Math.max(capacity, 1)];
+        nextId = 1;
+        size = 0;
+    }
+
+    /**
+     * Accessors
+     */
+
+    /**
+     * Returns the user with the given id
+     *
+     * @param id the id of the user
+     * @precondition 0 < id <= getMaxId()
+     * @return the user, or null if the id was allocated but its user not yet added
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public User byId(int id) throws IndexOutOfBoundsException {
+        if (id <= 0 || id >= nextId) {
+            throw new IndexOutOfBoundsException("byId: no user with id " + id);
+        }
+        return users[id - 1];
+    }
+
+    /**
+     * Returns the number of users added to the registry
+     *
+     * @return the number of users
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the largest id handed out so far
+     *
+     * @return the largest allocated id, or 0 if none has been allocated
+     */
+    public int getMaxId() {
+        return nextId - 1;
+    }
+
+    /**
+     * Mutators
+     */
+
+    /**
+     * Reserves the next id for a new user
+     *
+     * @return the new id, one more than the previous one
+     */
+    public int allocateId() {
+        if (nextId > users.length) {
+            users = Arrays.copyOf(users, 2 * users.length);
+        }
+        return nextId++;
+    }
+
+    /**
+     * Stores a user under the id it was created with
+     *
+     * @param user the user to add
+     * @precondition user's id was allocated by this registry and no user
+     * has been added under it yet
+     * @throws IllegalArgumentException when the precondition is violated
+     */
+    public void add(User user) throws IllegalArgumentException {
+        int id = user.getId();
+        if (id <= 0 || id >= nextId) {
+            throw new IllegalArgumentException("add: id " + id + " was not allocated by this registry");
+        } else if (users[id - 1] != null) {
+            throw new IllegalArgumentException("add: id " + id + " is already taken");
+        }
+        users[id - 1] = user;
+        size++;
+    }
+
+    /**
+     * Additional Operations
+     */
+
+    /**
+     * Returns an iterator over the users in order of id
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<User> iterator() {
+        return new Iterator<User>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < nextId - 1 && users[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < nextId - 1;
+            }
+
+            @Override
+            public User next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("next: no more users");
+                }
+                User user = users[next];
+                next = advance(next + 1);
+                return user;
+            }
+        };
+    }
+}
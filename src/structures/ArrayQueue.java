@@ -0,0 +1,219 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * ArrayQueue.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * A Queue stored in a circular array instead of linked nodes
+ * The array doubles when full, so enqueue runs in amortized constant
+ * time and allocates nothing once the queue has reached its working size
+ * Unlike Queue, the data does not need to be Comparable
+ */
+public class ArrayQueue<T> {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private Object[] data; // length is always a power of two
+	private int front;     // index of the front element
+	private int length;
+
+	/**** CONSTRUCTORS ****/
+
+	/**
+	 * Instantiates a new, empty ArrayQueue with default capacity
+	 *
+	 * @postcondition creates a new instance of an ArrayQueue
+	 */
+	public ArrayQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Instantiates a new, empty ArrayQueue able to hold capacity elements
+	 * before growing
+	 *
+	 * @param capacity the initial capacity
+	 * @precondition capacity >= 0
+	 * @throws IllegalArgumentException when precondition is violated
+	 */
+	public ArrayQueue(int capacity) throws IllegalArgumentException {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("ArrayQueue(): capacity cannot be negative");
+		}
+		data = new Object[Capacity.powerOfTwoAtLeast(capacity)];
+		front = 0;
+		length = 0;
+	}
+
+	/**
+	 * Instantiates a new ArrayQueue by copying another ArrayQueue
+	 *
+	 * @param original the ArrayQueue to make a copy of
+	 * @postcondition a new ArrayQueue object, which is an identical but separate
+	 *                copy of the ArrayQueue original
+	 */
+	public ArrayQueue(ArrayQueue<T> original) {
+		data = new Object[original.data.length];
+		for (int i = 0; i < original.length; i++) {
+			data[i] = original.data[(original.front + i) & (original.data.length - 1)];
+		}
+		front = 0;
+		length = original.length;
+	}
+
+	/**** ACCESSORS ****/
+
+	/**
+	 * Returns the value stored at the front of the ArrayQueue
+	 *
+	 * @precondition !isEmpty()
+	 * @return the value stored at the front of the ArrayQueue
+	 * @throws NoSuchElementException when precondition is violated
+	 */
+	@SuppressWarnings("unchecked")
+	public T getFront() throws NoSuchElementException {
+		if (isEmpty()) {
+			throw new NoSuchElementException("getFront: Queue is Empty. No data to access!");
+		}
+		return (T) data[front];
+	}
+
+	/**
+	 * Returns the current length of the ArrayQueue
+	 *
+	 * @return the length of the ArrayQueue
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns whether the ArrayQueue is currently empty
+	 *
+	 * @return whether the ArrayQueue is empty
+	 */
+	public boolean isEmpty() {
+		return (length == 0);
+	}
+
+	/**** MUTATORS ****/
+
+	/**
+	 * Stores a new end element, doubling the array when it is full
+	 *
+	 * @param value the data to insert at the end of the ArrayQueue
+	 * @postcondition a new end element
+	 */
+	public void enqueue(T value) {
+		if (length == data.length) {
+			grow();
+		}
+		data[(front + length) & (data.length - 1)] = value;
+		length++;
+	}
+
+	/**
+	 * removes the element at the front of the ArrayQueue
+	 *
+	 * @precondition !isEmpty()
+	 * @postcondition front element is removed from the front of the ArrayQueue
+	 * @throws NoSuchElementException when precondition is violated
+	 */
+	public void dequeue() throws NoSuchElementException {
+		if (isEmpty()) {
+			throw new NoSuchElementException("dequeue(): Cannot remove from an empty queue!");
+		}
+		data[front] = null; // let the element be garbage collected
+		front = (front + 1) & (data.length - 1);
+		length--;
+	}
+
+	/**
+	 * Removes every element but keeps the allocated capacity
+	 *
+	 * @postcondition isEmpty()
+	 */
+	public void clear() {
+		Arrays.fill(data, null);
+		front = 0;
+		length = 0;
+	}
+
+	/**
+	 * Doubles the array, unwrapping its contents to start at index 0
+	 */
+	private void grow() {
+		Object[] larger = new Object[Math.max(1, 2 * data.length)];
+		for (int i = 0; i < length; i++) {
+			larger[i] = data[(front + i) & (data.length - 1)];
+		}
+		data = larger;
+		front = 0;
+	}
+
+	/**** ADDITIONAL OPERATIONS ****/
+
+	/**
+	 * ArrayQueue with each value separated by spaces At the end of the
+	 * ArrayQueue a new line
+	 *
+	 * @return the ArrayQueue as a String for display
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			result.append(data[(front + i) & (data.length - 1)]).append(" ");
+		}
+		return (result.append("\n").toString());
+	}
+
+	/**
+	 * Determines whether two ArrayQueues have the same data in the same order
+	 *
+	 * @param o the ArrayQueue to compare to this ArrayQueue
+	 * @return whether the two ArrayQueues are equal
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		} else if (!(o instanceof ArrayQueue)) {
+			return false;
+		}
+		ArrayQueue<?> q = (ArrayQueue<?>) o;
+		if (this.length != q.length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (!Objects.equals(data[(front + i) & (data.length - 1)],
+					q.data[(q.front + i) & (q.data.length - 1)])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a hash code consistent with equals
+	 *
+	 * @return the hash code of the data in order
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < length; i++) {
+			result = 31 * result + Objects.hashCode(data[(front + i) & (data.length - 1)]);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,341 @@
+package structures;
+
+/**
+ * BFSResult.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.Arrays;
+
+/**
+ * The outcome of one breadth first search, together with the primitive
+ * buffers the search ran on. Each caller owns its result, so several
+ * searches can run on the same graph at once. Passing a result back into
+ * the next search reuses its buffers, and only the vertices reached last
+ * time are cleared
+ *
+ * Vertices are numbered from 1 to n, as in Graph. BFS and expand, in
+ * Graph, CSRGraph and ParallelBFS, all pick parents the same way: the
+ * parent of v is the smallest-numbered vertex one level closer to the
+ * source with an edge to v, so parents do not depend on the order the
+ * search ran in
+ */
+public class BFSResult {
+
+    private int vertices;
+    private int source;
+    private int[] distance; // distance[v - 1], -1 when unreached
+    private int[] parent;   // parent[v - 1] - 1, -1 when there is none
+    private long[] visited; // bit v - 1 is set once v is reached
+    private int[] order;    // order[i] - 1 is the i-th vertex reached
+    private long[] paths;   // paths[v - 1] is the number of shortest paths to v, when counted
+    private boolean countingPaths;
+    private int reached;
+    private IntQueue queue; // 0-based vertices waiting to be expanded
+
+    /**
+     * **CONSTRUCTOR***
+     */
+    /**
+     * Instantiates an empty result with no buffers allocated yet
+     */
+    public BFSResult() {
+        vertices = 0;
+        source = 0;
+        distance = new int[0];
+        parent = new int[0];
+        visited = new long[0];
+        order = new int[0];
+        paths = new long[0];
+        countingPaths = false;
+        reached = 0;
+        queue = new IntQueue();
+    }
+
+    /**
+     * **ACCESSORS***
+     */
+    /**
+     * Returns the source vertex of the search
+     *
+     * @return the source vertex, or 0 if no search has run
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of vertices in the graph that was searched
+     *
+     * @return the number of vertices
+     */
+    public int getNumVertices() {
+        return vertices;
+    }
+
+    /**
+     * Returns the number of edges on a shortest path from the source to v
+     *
+     * @param v a vertex in the graph
+     * @precondition 0 < v <= getNumVertices()
+     * @return the distance of vertex v, or -1 when v was not reached
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public int getDistance(int v) throws IndexOutOfBoundsException {
+        checkVertex(v, "getDistance");
+        return distance[v - 1];
+    }
+
+    /**
+     * Returns the vertex before v on a shortest path from the source. After
+     * BFS or expand, when several vertices one level closer to the source
+     * have an edge to v, the parent is the one with the smallest number,
+     * not the one that reached v first. The two searches of shortestPath
+     * keep the first parent found
+     *
+     * @param v a vertex in the graph
+     * @precondition 0 < v <= getNumVertices()
+     * @return the parent of vertex v, or 0 when v is the source or unreached
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public int getParent(int v) throws IndexOutOfBoundsException {
+        checkVertex(v, "getParent");
+        return parent[v - 1] + 1;
+    }
+
+    /**
+     * Returns the number of distinct shortest paths from the source to v
+     * For a vertex two hops away this is the number of common neighbors,
+     * such as mutual friends. Only searches made with expand count paths
+     *
+     * @param v a vertex in the graph
+     * @precondition 0 < v <= getNumVertices()
+     * @precondition the search counted paths
+     * @return the number of shortest paths to v, or 0 when v was not reached
+     * @throws IndexOutOfBoundsException when v is not a vertex
+     * @throws IllegalStateException when the search did not count paths
+     */
+    public long getPathCount(int v) throws IndexOutOfBoundsException, IllegalStateException {
+        checkVertex(v, "getPathCount");
+        if (!countingPaths) {
+            throw new IllegalStateException("getPathCount: this search did not count paths");
+        }
+        return paths[v - 1];
+    }
+
+    /**
+     * Returns whether the search reached v
+     *
+     * @param v a vertex in the graph
+     * @precondition 0 < v <= getNumVertices()
+     * @return whether v is reachable from the source
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public boolean isReached(int v) throws IndexOutOfBoundsException {
+        checkVertex(v, "isReached");
+        return isVisited(v - 1);
+    }
+
+    /**
+     * Returns how many vertices the search reached, including the source
+     *
+     * @return the number of reached vertices
+     */
+    public int getNumReached() {
+        return reached;
+    }
+
+    /**
+     * Returns the i-th vertex reached by the search, so callers can visit
+     * only the reached vertices instead of scanning the whole graph
+     *
+     * @param i the position in discovery order
+     * @precondition 0 <= i < getNumReached()
+     * @return the vertex reached at position i
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public int getReached(int i) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= reached) {
+            throw new IndexOutOfBoundsException("getReached: index out of bounds");
+        }
+        return order[i] + 1;
+    }
+
+    /**
+     * Throws when v is not a vertex of the searched graph
+     */
+    private void checkVertex(int v, String method) throws IndexOutOfBoundsException {
+        if (!(0 < v && v <= vertices)) {
+            throw new IndexOutOfBoundsException(method + ": index out of bounds");
+        }
+    }
+
+    /**
+     * * Search operations used by Graph **
+     */
+
+    /**
+     * Prepares the buffers for a new search of a graph with n vertices
+     * Buffers are only reallocated when they are too small; otherwise just
+     * the entries touched by the previous search are cleared
+     *
+     * @param n the number of vertices in the graph
+     * @param s the 0-based source vertex
+     */
+    void reset(int n, int s) {
+        if (distance.length < n) {
+            int capacity = Math.max(n, 2 * distance.length);
+            distance = new int[capacity];
+            parent = new int[capacity];
+            order = new int[capacity];
+            paths = new long[capacity];
+            visited = new long[(capacity + 63) >>> 6];
+            Arrays.fill(distance, -1);
+            Arrays.fill(parent, -1);
+        } else {
+            for (int i = 0; i < reached; i++) {
+                int v = order[i];
+                distance[v] = -1;
+                parent[v] = -1;
+                paths[v] = 0;
+                visited[v >>> 6] &= ~(1L << v);
+            }
+        }
+        vertices = n;
+        source = s + 1;
+        reached = 0;
+        countingPaths = false;
+        queue.clear();
+        visit(s, -1, 0);
+    }
+
+    /**
+     * Starts counting shortest paths for the search just reset, with the
+     * single empty path to the source
+     */
+    void countPaths() {
+        countingPaths = true;
+        paths[source - 1] = 1;
+    }
+
+    /**
+     * Returns whether the 0-based vertex v has been reached
+     */
+    boolean isVisited(int v) {
+        return (visited[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /**
+     * Marks the 0-based vertex v as reached from p at distance d and queues
+     * it for expansion
+     */
+    void visit(int v, int p, int d) {
+        record(v, p, d);
+        queue.enqueue(v);
+    }
+
+    /**
+     * Marks the 0-based vertex v as reached from p at distance d without
+     * queueing it, for searches that keep their own frontier
+     */
+    void record(int v, int p, int d) {
+        visited[v >>> 6] |= 1L << v;
+        distance[v] = d;
+        parent[v] = p;
+        order[reached++] = v;
+    }
+
+    /**
+     * Makes p the parent of the 0-based vertex v if p has a smaller number
+     * than its current parent. Searches call this for every edge into a
+     * vertex from the level before it, so that the parent is always the
+     * smallest such vertex, whatever order the search ran in
+     */
+    void offerParent(int v, int p) {
+        if (p < parent[v]) {
+            parent[v] = p;
+        }
+    }
+
+    /**
+     * Drops the vertices waiting to be expanded
+     */
+    void clearQueue() {
+        queue.clear();
+    }
+
+    /**
+     * Returns whether any vertex is waiting to be expanded
+     */
+    boolean hasQueued() {
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Returns the number of vertices waiting to be expanded
+     */
+    int queuedCount() {
+        return queue.getLength();
+    }
+
+    /**
+     * Removes and returns the next 0-based vertex to expand
+     */
+    int nextQueued() {
+        int v = queue.getFront();
+        queue.dequeue();
+        return v;
+    }
+
+    /**
+     * Returns the distance of the 0-based vertex v
+     */
+    int distanceOf(int v) {
+        return distance[v];
+    }
+
+    /**
+     * Returns the number of shortest paths counted so far to the 0-based
+     * vertex v
+     */
+    long pathsOf(int v) {
+        return paths[v];
+    }
+
+    /**
+     * Joins the parent chains of a bidirectional search into one path: the
+     * forward chain from the source up to meet, then the backward chain
+     * from meet down to the target
+     *
+     * @param forward the search from the source
+     * @param backward the search from the target
+     * @param meet the 0-based vertex where the searches met
+     * @return the vertices of the path from source to target
+     */
+    static IntList joinPaths(BFSResult forward, BFSResult backward, int meet) {
+        IntList path = new IntList(forward.distanceOf(meet) + backward.distanceOf(meet) + 1);
+        for (int v = meet + 1; v != 0; v = forward.getParent(v)) {
+            path.addLast(v);
+        }
+        path.reverse();
+        for (int v = backward.getParent(meet + 1); v != 0; v = backward.getParent(v)) {
+            path.addLast(v);
+        }
+        return path;
+    }
+
+    /**
+     * Adds count more shortest paths to the 0-based vertex v, saturating
+     * instead of overflowing
+     */
+    void addPaths(int v, long count) {
+        long sum = paths[v] + count;
+        paths[v] = sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
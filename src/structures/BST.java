@@ -1,7 +1,12 @@
 package structures;
 
+import java.util.ArrayDeque;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * BST.java
@@ -12,22 +17,71 @@ import java.util.NoSuchElementException;
  * @author Y Pham
  * @author Rohit Pokuri
  * CIS 22C, Final Project
+ * 
+ * The tree rebalances itself as an AVL tree on every insert and remove, so
+ * its height stays O(log n) even when values arrive in sorted order
+ * Each node also stores the size of its subtree, which gives O(1) getSize
+ * and O(log n) select and rank
  */
-public class BST<T> {
+public class BST<T> implements Iterable<T> {
 	private class Node {
 		private T data;
 		private Node left;
 		private Node right;
+		private int height;
+		private int size;
 
 		public Node(T data) {
 			this.data = data;
 			left = null;
 			right = null;
+			height = 0;
+			size = 1;
+		}
+	}
+
+	/**
+	 * Lazy in-order iterator that keeps the path to the next node on an
+	 * explicit stack, so it holds at most O(height) nodes at a time
+	 * The tree must not be modified while an iterator is in use
+	 */
+	private class InOrderIterator implements Iterator<T> {
+		private final ArrayDeque<Node> path;
+
+		public InOrderIterator() {
+			path = new ArrayDeque<>(getHeight(root) + 1);
+			pushLeft(root);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !path.isEmpty();
+		}
+
+		@Override
+		public T next() throws NoSuchElementException {
+			if (path.isEmpty()) {
+				throw new NoSuchElementException("next: No more values in the tree");
+			}
+			Node node = path.pop();
+			pushLeft(node.right);
+			return node.data;
+		}
+
+		/**
+		 * Pushes a node and its chain of left children onto the path
+		 * 
+		 * @param node the first node to push
+		 */
+		private void pushLeft(Node node) {
+			while (node != null) {
+				path.push(node);
+				node = node.left;
+			}
 		}
 	}
 
 	private Node root;
-	private List<T> inOrderList;
 	
 	/*** CONSTRUCTORS ***/
 
@@ -36,7 +90,6 @@ public class BST<T> {
 	 */
 	public BST() {
 		root = null;
-		inOrderList = new List<T>();
 	}
 
 	/**
@@ -47,7 +100,6 @@ public class BST<T> {
 	 */
 	public BST(BST<T> bst, Comparator<T> c) {
 		copyHelper(bst.root, c);
-		this.inOrderList = new List<T>();
 	}
 
 	/**
@@ -102,17 +154,65 @@ public class BST<T> {
 
 	/**
 	 * Helper method for the getSize method
+	 * Reads the size stored in the node
 	 * 
-	 * @param node the current node to count
-	 * @return the size of the tree
+	 * @param node the root of the subtree to count
+	 * @return the size of the subtree
 	 */
 	private int getSize(Node node) {
 		if (node == null) {
 			return 0;
 		} else {
-			return 1 + getSize(node.left) + getSize(node.right);
+			return node.size;
 		}
+	}
 
+	/**
+	 * Returns the value at a position in sorted order
+	 * 
+	 * @param index the position, from 0 to getSize() - 1
+	 * @precondition 0 <= index < getSize()
+	 * @return the index-th smallest value in the tree
+	 * @throws IndexOutOfBoundsException when the precondition is violated
+	 */
+	public T select(int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= getSize()) {
+			throw new IndexOutOfBoundsException("select: index out of bounds");
+		}
+		Node node = root;
+		while (true) {
+			int leftSize = getSize(node.left);
+			if (index < leftSize) {
+				node = node.left;
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node.data;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of values in the tree that are smaller than data,
+	 * which is the position data has or would have in sorted order
+	 * 
+	 * @param data the value to rank
+	 * @param c    the Comparator indicating how data in the tree is ordered
+	 * @return the number of values less than data
+	 */
+	public int rank(T data, Comparator<T> c) {
+		int rank = 0;
+		Node node = root;
+		while (node != null) {
+			if (c.compare(data, node.data) <= 0) {
+				node = node.left;
+			} else {
+				rank += getSize(node.left) + 1;
+				node = node.right;
+			}
+		}
+		return rank;
 	}
 
 	/**
@@ -126,15 +226,16 @@ public class BST<T> {
 
 	/**
 	 * Helper method for getHeight method
+	 * Reads the height stored in the node
 	 * 
-	 * @param node the current node whose height to count
-	 * @return the height of the tree
+	 * @param node the node whose height to return
+	 * @return the height of the subtree, or -1 when it is empty
 	 */
 	private int getHeight(Node node) {
 		if (node == null) {
 			return -1;
 		} else {
-			return 1 + Math.max(getHeight(node.right), getHeight(node.left));
+			return node.height;
 		}
 	}
 
@@ -233,6 +334,94 @@ public class BST<T> {
 		}
 	}
 
+	/**
+	 * Returns the values between lo and hi, inclusive, in sorted order
+	 * Only subtrees that can hold such values are visited, so the scan costs
+	 * O(log n + k) for k matches
+	 * 
+	 * @param lo the smallest value to include
+	 * @param hi the largest value to include
+	 * @param c  the Comparator indicating how data in the tree is ordered
+	 * @return a new List of the values in range, possibly empty
+	 */
+	public List<T> range(T lo, T hi, Comparator<T> c) {
+		List<T> result = new List<T>();
+		range(lo, hi, c, result::addLast);
+		return result;
+	}
+
+	/**
+	 * Passes the values between lo and hi, inclusive, to an action in sorted
+	 * order without building a List
+	 * 
+	 * @param lo     the smallest value to include
+	 * @param hi     the largest value to include
+	 * @param c      the Comparator indicating how data in the tree is ordered
+	 * @param action the action to run on each value in range
+	 */
+	public void range(T lo, T hi, Comparator<T> c, Consumer<? super T> action) {
+		scan(root, data -> c.compare(data, lo) < 0 ? -1 : c.compare(data, hi) > 0 ? 1 : 0, action);
+	}
+
+	/**
+	 * Returns the values whose key starts with a prefix, in sorted order
+	 * The tree must be ordered by the natural String order of key, as the
+	 * friend and interest trees are ordered by first name
+	 * 
+	 * @param prefix the prefix to match
+	 * @param key    the function extracting the String the tree is ordered by
+	 * @return a new List of the matching values, possibly empty
+	 */
+	public List<T> prefix(String prefix, Function<T, String> key) {
+		List<T> result = new List<T>();
+		prefix(prefix, key, result::addLast);
+		return result;
+	}
+
+	/**
+	 * Passes the values whose key starts with a prefix to an action in
+	 * sorted order without building a List
+	 * 
+	 * @param prefix the prefix to match
+	 * @param key    the function extracting the String the tree is ordered by
+	 * @param action the action to run on each matching value
+	 */
+	public void prefix(String prefix, Function<T, String> key, Consumer<? super T> action) {
+		scan(root, data -> {
+			String k = key.apply(data);
+			if (k.startsWith(prefix)) {
+				return 0;
+			}
+			return k.compareTo(prefix) < 0 ? -1 : 1;
+		}, action);
+	}
+
+	/**
+	 * Helper method for range and prefix scans
+	 * Visits in order every value whose position is 0, skipping a subtree
+	 * whenever its root shows that it lies entirely outside the range
+	 * 
+	 * @param node     the current node
+	 * @param position returns a negative number for values below the range,
+	 *                 0 for values in it and a positive number above it
+	 * @param action   the action to run on each value in range
+	 */
+	private void scan(Node node, ToIntFunction<T> position, Consumer<? super T> action) {
+		if (node == null) {
+			return;
+		}
+		int p = position.applyAsInt(node.data);
+		if (p >= 0) {
+			scan(node.left, position, action);
+		}
+		if (p == 0) {
+			action.accept(node.data);
+		}
+		if (p <= 0) {
+			scan(node.right, position, action);
+		}
+	}
+
 	/*** MUTATORS ***/
 
 	/**
@@ -242,34 +431,27 @@ public class BST<T> {
 	 * @param c    the Comparator indicating how data in the tree is ordered
 	 */
 	public void insert(T data, Comparator<T> c) {
-		if (root == null) {
-			root = new Node(data);
-		} else {
-			insert(data, root, c);
-		}
+		root = insert(data, root, c);
 	}
 
 	/**
 	 * Helper method to insert Inserts a new value in the tree
+	 * and rebalances each node on the way back up
 	 * 
 	 * @param data the data to insert
 	 * @param node the current node in the search for the correct location to insert
 	 * @param c    the Comparator indicating how data in the tree is ordered
+	 * @return an updated reference variable
 	 */
-	private void insert(T data, Node node, Comparator<T> c) {
-		if (c.compare(data, node.data) <= 0) {
-			if (node.left == null) {
-				node.left = new Node(data);
-			} else {
-				insert(data, node.left, c);
-			}
+	private Node insert(T data, Node node, Comparator<T> c) {
+		if (node == null) {
+			return new Node(data);
+		} else if (c.compare(data, node.data) <= 0) {
+			node.left = insert(data, node.left, c);
 		} else {
-			if (node.right == null) {
-				node.right = new Node(data);
-			} else {
-				insert(data, node.right, c);
-			}
+			node.right = insert(data, node.right, c);
 		}
+		return rebalance(node);
 	}
 
 	/**
@@ -307,12 +489,92 @@ public class BST<T> {
 				node = node.right;
 			} else {
 				node.data = findMin(node.right);
-				node.right = remove(node.data, node.right, c);
+				node.right = removeMin(node.right);
+			}
+		}
+		return node == null ? null : rebalance(node);
+	}
+
+	/**
+	 * Removes the smallest node of a subtree
+	 * Unlike remove(findMin(node), ...), this always unlinks that exact node
+	 * even when equal values are stored elsewhere in the subtree
+	 * 
+	 * @param node the root of the subtree
+	 * @return an updated reference variable
+	 */
+	private Node removeMin(Node node) {
+		if (node.left == null) {
+			return node.right;
+		}
+		node.left = removeMin(node.left);
+		return rebalance(node);
+	}
+
+	/**
+	 * Recomputes the height of a node and rotates it when its subtrees
+	 * differ in height by more than one
+	 * 
+	 * @param node the node to rebalance
+	 * @return the root of the rebalanced subtree
+	 */
+	private Node rebalance(Node node) {
+		update(node);
+		int balance = getHeight(node.left) - getHeight(node.right);
+		if (balance > 1) {
+			if (getHeight(node.left.left) < getHeight(node.left.right)) {
+				node.left = rotateLeft(node.left);
+			}
+			return rotateRight(node);
+		} else if (balance < -1) {
+			if (getHeight(node.right.right) < getHeight(node.right.left)) {
+				node.right = rotateRight(node.right);
 			}
+			return rotateLeft(node);
 		}
 		return node;
 	}
 
+	/**
+	 * Rotates a subtree to the right, making the left child its root
+	 * 
+	 * @param node the root of the subtree
+	 * @return the new root of the subtree
+	 */
+	private Node rotateRight(Node node) {
+		Node pivot = node.left;
+		node.left = pivot.right;
+		pivot.right = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Rotates a subtree to the left, making the right child its root
+	 * 
+	 * @param node the root of the subtree
+	 * @return the new root of the subtree
+	 */
+	private Node rotateLeft(Node node) {
+		Node pivot = node.right;
+		node.right = pivot.left;
+		pivot.left = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Recomputes the stored height and size of a node from its children
+	 * 
+	 * @param node the node to update
+	 */
+	private void update(Node node) {
+		node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
+		node.size = 1 + getSize(node.left) + getSize(node.right);
+	}
+
 	/*** ADDITONAL OPERATIONS ***/
 
 	/**
@@ -385,27 +647,27 @@ public class BST<T> {
 	/**
 	 * Performs an in-order traversal of this tree
 	 * and returns a list of the values
+	 * Prefer iterating the tree directly when a copy is not needed
 	 * 
-	 * @return a List of BST's value in order
+	 * @return a new List of BST's value in order
 	 */
 	public List<T> toListInOrder() {
-		inOrderList = new List<T>();
-		inOrderTraversal(root);
+		List<T> inOrderList = new List<T>();
+		for (T data : this) {
+			inOrderList.addLast(data);
+		}
 		return inOrderList;
 	}
 	
 	/**
-	 * Helper method for toListInOrder
-	 * Does an in-order traversal of the tree and
-	 * stores the values in the inOrderList field
+	 * Returns a lazy iterator over the values in sorted order
+	 * Each iterator is independent, so several callers can traverse the
+	 * same tree at once, and one that stops early only pays for what it read
+	 * 
+	 * @return an in-order iterator over the tree
 	 */
-	private void inOrderTraversal(Node node) {
-		if (node == null) {
-			return;
-		} else {
-			inOrderTraversal(node.left);
-			inOrderList.addLast(node.data);
-			inOrderTraversal(node.right);
-		}
+	@Override
+	public Iterator<T> iterator() {
+		return new InOrderIterator();
 	}
 }
@@ -0,0 +1,177 @@
+package structures;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BoundedConcurrentQueue.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * A ConcurrentQueue that holds at most a fixed number of values
+ * enqueue blocks while the queue is full, which slows producers down to
+ * the pace of the consumers, and dequeue blocks until a value arrives
+ * One semaphore counts the free spaces and one counts the values; the
+ * values themselves still move through the lock-free queue, so producers
+ * and consumers never take a common lock
+ */
+public class BoundedConcurrentQueue<T> {
+	private final ConcurrentQueue<T> queue;
+	private final Semaphore spaces; // permits for values that may still be enqueued
+	private final Semaphore items;  // permits for values that may be dequeued
+	private final int capacity;
+
+	/**** CONSTRUCTOR ****/
+
+	/**
+	 * Instantiates a new, empty BoundedConcurrentQueue
+	 *
+	 * @param capacity the largest number of values the queue holds at once
+	 * @precondition capacity > 0
+	 * @postcondition creates a new instance of a BoundedConcurrentQueue
+	 * @throws IllegalArgumentException when precondition is violated
+	 */
+	public BoundedConcurrentQueue(int capacity) throws IllegalArgumentException {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("BoundedConcurrentQueue(): capacity must be positive");
+		}
+		this.queue = new ConcurrentQueue<>();
+		this.spaces = new Semaphore(capacity);
+		this.items = new Semaphore(0);
+		this.capacity = capacity;
+	}
+
+	/**** ACCESSORS ****/
+
+	/**
+	 * Returns the value stored at the front of the queue without waiting
+	 * Other threads may remove it right after it is returned
+	 *
+	 * @precondition !isEmpty()
+	 * @return the value stored at the front of the queue
+	 * @throws NoSuchElementException when precondition is violated
+	 */
+	public T getFront() throws NoSuchElementException {
+		return queue.getFront();
+	}
+
+	/**
+	 * Returns the number of values ready to be dequeued
+	 *
+	 * @return the length of the queue
+	 */
+	public int getLength() {
+		return items.availablePermits();
+	}
+
+	/**
+	 * Returns the largest number of values the queue holds at once
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns whether no value is ready to be dequeued
+	 *
+	 * @return whether the queue is empty
+	 */
+	public boolean isEmpty() {
+		return getLength() == 0;
+	}
+
+	/**** MUTATORS ****/
+
+	/**
+	 * Inserts a value at the end, waiting while the queue is full
+	 *
+	 * @param data the data to insert at the end of the queue
+	 * @precondition data != null
+	 * @throws NullPointerException when precondition is violated
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public void enqueue(T data) throws NullPointerException, InterruptedException {
+		if (data == null) {
+			throw new NullPointerException("enqueue(): Cannot insert null into a concurrent queue");
+		}
+		spaces.acquire();
+		queue.enqueue(data);
+		items.release();
+	}
+
+	/**
+	 * Inserts a value at the end, waiting at most timeout for a free space
+	 *
+	 * @param data the data to insert at the end of the queue
+	 * @param timeout how long to wait
+	 * @param unit the unit of timeout
+	 * @precondition data != null
+	 * @return whether the value was inserted
+	 * @throws NullPointerException when precondition is violated
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public boolean offer(T data, long timeout, TimeUnit unit) throws NullPointerException, InterruptedException {
+		if (data == null) {
+			throw new NullPointerException("offer(): Cannot insert null into a concurrent queue");
+		}
+		if (!spaces.tryAcquire(timeout, unit)) {
+			return false;
+		}
+		queue.enqueue(data);
+		items.release();
+		return true;
+	}
+
+	/**
+	 * Removes and returns the value at the front, waiting while the queue is
+	 * empty
+	 *
+	 * @return the removed value
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public T dequeue() throws InterruptedException {
+		items.acquire();
+		T data = queue.dequeue(); // the permit guarantees a value is there
+		spaces.release();
+		return data;
+	}
+
+	/**
+	 * Removes and returns the value at the front, waiting at most timeout for
+	 * one to arrive
+	 *
+	 * @param timeout how long to wait
+	 * @param unit the unit of timeout
+	 * @return the removed value, or null if none arrived in time
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+		if (!items.tryAcquire(timeout, unit)) {
+			return null;
+		}
+		T data = queue.dequeue();
+		spaces.release();
+		return data;
+	}
+
+	/**** ADDITIONAL OPERATIONS ****/
+
+	/**
+	 * Queue with each value separated by spaces At the end of the queue a new
+	 * line
+	 *
+	 * @return the queue as a String for display
+	 */
+	@Override
+	public String toString() {
+		return queue.toString();
+	}
+}
@@ -0,0 +1,245 @@
+package structures;
+
+/**
+ * CSRGraph.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable compressed sparse row snapshot of a Graph
+ * The neighbors of vertex v are targets[offsets[v - 1]] up to but not
+ * including targets[offsets[v]], stored as 0-based indices, so every
+ * neighbor scan is a contiguous array read
+ *
+ * Snapshots are built with Graph.snapshot() and never change afterwards,
+ * which makes them safe to read from any number of threads
+ *
+ * Vertices are numbered from 1 to n, as in Graph
+ */
+public class CSRGraph {
+
+    private final int vertices;
+    private final int[] offsets; // length vertices + 1
+    private final int[] targets; // length offsets[vertices]
+    private volatile CSRGraph reverse; // the transposed snapshot, null until first needed
+
+    /**
+     * Constructors
+     */
+    /**
+     * Wraps already built CSR arrays. Only Graph builds snapshots
+     *
+     * @param vertices the number of vertices
+     * @param offsets the start of each vertex's neighbors, plus the end
+     * @param targets the 0-based neighbors of every vertex, back to back
+     */
+    CSRGraph(int vertices, int[] offsets, int[] targets) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * * Accessors **
+     */
+
+    /**
+     * Returns the number of vertices in the snapshot
+     *
+     * @return the number of vertices
+     */
+    public int getNumVertices() {
+        return vertices;
+    }
+
+    /**
+     * Returns the number of edges in the snapshot
+     *
+     * @return the number of edges
+     */
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    /**
+     * returns whether the snapshot is empty (no edges)
+     *
+     * @return whether the snapshot is empty
+     */
+    public boolean isEmpty() {
+        return targets.length == 0;
+    }
+
+    /**
+     * Returns the number of edges leaving v
+     *
+     * @param v a vertex in the graph
+     * @precondition 0 < v <= vertices
+     * @return the out-degree of v
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public int getDegree(int v) throws IndexOutOfBoundsException {
+        if (!(0 < v && v <= vertices)) {
+            throw new IndexOutOfBoundsException("getDegree: index out of bounds");
+        }
+        return offsets[v] - offsets[v - 1];
+    }
+
+    /**
+     * Returns the i-th neighbor of v
+     *
+     * @param v a vertex in the graph
+     * @param i the position in v's adjacency list
+     * @precondition 0 < v <= vertices and 0 <= i < getDegree(v)
+     * @return the neighbor at position i
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public int getNeighbor(int v, int i) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= getDegree(v)) {
+            throw new IndexOutOfBoundsException("getNeighbor: index out of bounds");
+        }
+        return targets[offsets[v - 1] + i] + 1;
+    }
+
+    /**
+     * Passes every neighbor of v to an action, in adjacency order
+     *
+     * @param v a vertex in the graph
+     * @param action the action to run on each neighbor
+     * @precondition 0 < v <= vertices
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public void forEachNeighbor(int v, IntConsumer action) throws IndexOutOfBoundsException {
+        if (!(0 < v && v <= vertices)) {
+            throw new IndexOutOfBoundsException("forEachNeighbor: index out of bounds");
+        }
+        for (int i = offsets[v - 1]; i < offsets[v]; i++) {
+            action.accept(targets[i] + 1);
+        }
+    }
+
+    /**
+     * Returns the offsets array itself, for the searches in this package
+     * The caller must not modify it
+     */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the targets array itself, for the searches in this package
+     * The caller must not modify it
+     */
+    int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Returns the snapshot with every edge reversed, whose neighbors of v are
+     * the vertices with an edge into v. It is built on first use and shared
+     * by later calls
+     *
+     * @return the transposed snapshot
+     */
+    public CSRGraph reverse() {
+        CSRGraph result = reverse;
+        if (result == null) {
+            // two threads may both build it; either copy is correct
+            result = transpose();
+            reverse = result;
+        }
+        return result;
+    }
+
+    /**
+     * Builds the transposed arrays with a counting pass over the targets,
+     * so each row of the result lists its sources in increasing order
+     */
+    private CSRGraph transpose() {
+        int[] inOffsets = new int[vertices + 1];
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        int[] next = Arrays.copyOf(inOffsets, vertices);
+        int[] sources = new int[targets.length];
+        for (int u = 0; u < vertices; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                sources[next[targets[i]]++] = u;
+            }
+        }
+        CSRGraph result = new CSRGraph(vertices, inOffsets, sources);
+        result.reverse = this;
+        return result;
+    }
+
+    /**
+     * * Additional Operations **
+     */
+
+    /**
+     * Performs breath first search on this snapshot from a source vertex into
+     * a caller-owned result, with the same results as Graph.BFS
+     *
+     * @param source the vertex to search from
+     * @param result the result to reuse, or null to allocate a new one
+     * @precondition snapshot must not be empty
+     * @precondition source is a vertex in the graph
+     * @return the result holding distances and parents from source
+     * @throws IllegalStateException if the snapshot is empty
+     * @throws IndexOutOfBoundsException when the source vertex is not a vertex
+     * in the graph
+     */
+    public BFSResult BFS(int source, BFSResult result) throws IllegalStateException, IndexOutOfBoundsException {
+        if (isEmpty()) {
+            throw new IllegalStateException("BFS: graph cannot be empty");
+        } else if (!(source > 0 && source <= vertices)) {
+            throw new IndexOutOfBoundsException("BFS: source is not in graph");
+        }
+        if (result == null) {
+            result = new BFSResult();
+        }
+        result.reset(vertices, source - 1);
+        while (result.hasQueued()) {
+            int x = result.nextQueued();
+            int d = result.distanceOf(x) + 1;
+            for (int i = offsets[x]; i < offsets[x + 1]; i++) {
+                int y = targets[i];
+                if (!result.isVisited(y)) {
+                    result.visit(y, x, d);
+                } else if (result.distanceOf(y) == d) {
+                    result.offerParent(y, x); // keep the smallest parent
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a String representation of the snapshot in the same format as
+     * Graph.toString
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int v = 0; v < vertices; v++) {
+            result.append(v + 1).append('\t');
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                result.append(targets[i] + 1).append(' ');
+            }
+            result.append('\n');
+        }
+        return result.append('\n').toString();
+    }
+}
@@ -0,0 +1,32 @@
+package structures;
+
+/**
+ * Capacity.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * Sizing shared by the array-backed structures in this package
+ * Hash tables and circular queues keep a power of two number of
+ * slots, so that an index wraps around with a mask instead of a
+ * division
+ */
+final class Capacity {
+
+    private Capacity() {
+    }
+
+    /**
+     * Returns the smallest power of two at least n
+     * @param n the lower bound
+     * @precondition n <= 2^30
+     * @return the power of two, at least 1
+     */
+    static int powerOfTwoAtLeast(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
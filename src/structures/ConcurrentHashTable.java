@@ -0,0 +1,632 @@
+package structures;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * ConcurrentHashTable.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * A thread-safe hash table with the same operations as OpenHashTable
+ *
+ * Buckets are chains of nodes, and the buckets are split into stripes,
+ * each guarded by its own read-write lock. A bucket's stripe depends only
+ * on the low bits of its hash, so it stays the same when the table grows.
+ * Any number of threads can read one stripe at once, and writers only
+ * block the stripe they write to
+ *
+ * The table grows when the total number of values, not the values of
+ * one stripe, passes the load factor, so many values under one key do
+ * not make it grow. Growing is cooperative, as in HashTable: the old
+ * buckets are kept, and every put moves a few of them from its own
+ * stripe and from one other stripe, each under that stripe's lock.
+ * No thread ever locks the whole table to grow it
+ */
+public class ConcurrentHashTable<T> {
+
+    private static final int DEFAULT_SIZE = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int REHASH_STEPS = 2; // old buckets of a stripe moved per step while resizing
+
+    /**
+     * One entry of a bucket chain
+     */
+    private static class Node {
+        private final String key;
+        private final int hash;
+        private final Object value;
+        private Node next;
+
+        public Node(String key, int hash, Object value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = null;
+        }
+    }
+
+    /**
+     * The bucket arrays in use, replaced as a whole when a resize
+     * starts or ends so that a thread always sees a matching pair
+     */
+    private static class Tables {
+        private final Node[] table;      // where moved and new entries go
+        private final Node[] oldTable;   // buckets still to move while resizing, or null
+        private final int[] moved;       // moved[s] counts the moved oldTable buckets of stripe s, guarded by locks[s]
+        private final AtomicInteger left; // oldTable buckets not yet moved
+
+        public Tables(Node[] table, Node[] oldTable, int stripes) {
+            this.table = table;
+            this.oldTable = oldTable;
+            this.moved = oldTable == null ? null : new int[stripes];
+            this.left = oldTable == null ? null : new AtomicInteger(oldTable.length);
+        }
+    }
+
+    private final AtomicReference<Tables> tables;
+    private final ReentrantReadWriteLock[] locks; // locks[s] guards every bucket b with (b & stripeMask) == s
+    private final LongAdder count;                // number of entries, updated under a stripe lock
+    private final AtomicInteger helpCursor;       // next stripe a put helps to move
+    private final int stripeMask;
+    private final int stripeShift;                // log2 of the number of stripes
+    private final Function<T, String> keyOf;      // extracts the key of a value, or null
+
+    /**
+     * Constructor for the hash
+     * table. Initializes the table to
+     * a default size
+     */
+    public ConcurrentHashTable() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Constructor for the hash
+     * table. Sizes the table so that
+     * expected elements fit without growing
+     * @param expected the number of elements expected
+     */
+    public ConcurrentHashTable(int expected) {
+        this(expected, null);
+    }
+
+    /**
+     * Constructor for the hash
+     * table. Sizes the table so that
+     * expected elements fit without growing
+     * and keys every value with keyOf, which
+     * enables put(T) and remove(T)
+     * Uses four lock stripes per available processor
+     * @param expected the number of elements expected
+     * @param keyOf the function extracting the key of a value
+     */
+    public ConcurrentHashTable(int expected, Function<T, String> keyOf) {
+        this(expected, keyOf, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the hash
+     * table. Sizes the table so that
+     * expected elements fit without growing
+     * and splits it into at least stripes
+     * independently locked stripes
+     * @param expected the number of elements expected
+     * @param keyOf the function extracting the key of a value, or null
+     * @param stripes the number of threads expected to write at once
+     * @precondition stripes > 0
+     * @throws IllegalArgumentException when the precondition is violated
+     */
+    public ConcurrentHashTable(int expected, Function<T, String> keyOf, int stripes) throws IllegalArgumentException {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("ConcurrentHashTable: stripes must be positive");
+        }
+        int numStripes = Capacity.powerOfTwoAtLeast(stripes);
+        locks = new ReentrantReadWriteLock[numStripes];
+        for (int s = 0; s < numStripes; s++) {
+            locks[s] = new ReentrantReadWriteLock();
+        }
+        count = new LongAdder();
+        helpCursor = new AtomicInteger();
+        stripeMask = numStripes - 1;
+        stripeShift = Integer.numberOfTrailingZeros(numStripes);
+        Node[] table = new Node[Math.max(numStripes, Capacity.powerOfTwoAtLeast((int) Math.ceil(expected / MAX_LOAD_FACTOR)))];
+        tables = new AtomicReference<>(new Tables(table, null, numStripes));
+        this.keyOf = keyOf;
+    }
+
+    /**Accessors*/
+
+    /**
+     * returns the lock guarding the buckets
+     * of a hash code
+     * @param hash the mixed hash code
+     * @return the lock of its stripe
+     */
+    private ReentrantReadWriteLock lockFor(int hash) {
+        return locks[hash & stripeMask];
+    }
+
+    /**
+     * returns the bucket array holding the entries of a hash code:
+     * the old array until its bucket has been moved, then the new one
+     * The caller must hold the stripe lock of h, so the bucket
+     * cannot move while the caller uses the array
+     * @param h the mixed hash code
+     * @return the array whose bucket h & (length - 1) holds h
+     */
+    private Node[] tableFor(int h) {
+        Tables t = tables.get();
+        if (t.oldTable != null && ((h & (t.oldTable.length - 1)) >>> stripeShift) >= t.moved[h & stripeMask]) {
+            return t.oldTable;
+        }
+        return t.table;
+    }
+
+    /**
+     * returns the number of buckets in the table
+     * While the table grows, this is already the new number
+     * @return the number of buckets
+     */
+    public int getNumBuckets() {
+        return tables.get().table.length;
+    }
+
+    /**
+     * returns the number of independently locked stripes
+     * @return the number of stripes
+     */
+    public int getNumStripes() {
+        return locks.length;
+    }
+
+    /**
+     * returns total number of keys in the table
+     * The count is exact only while no other thread is writing
+     * @return total number of keys
+     */
+    public int getNumElements() {
+        return (int) count.sum();
+    }
+
+    /**
+     * Accesses a specified key in the table
+     *
+     * @param key the String to hash to a bucket in the table
+     * @param t the value to find
+     * @param c Comparator object to use for comparisons
+     * @return the value mapped at the specified key,
+     * or null if the value does not exist in this table
+     * @precondition key != null
+     * @throws NullPointerException if the precondition is violated
+     */
+    public T get(String key, T t, Comparator<T> c) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("get: Cannot hash a null value");
+        }
+        int h = Hashing.mix(key);
+        ReentrantReadWriteLock lock = lockFor(h);
+        lock.readLock().lock();
+        try {
+            Node node = find(h, key, t, c);
+            return node == null ? null : valueOf(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Accesses the first value inserted under a key
+     * Keys are compared directly, so no probe
+     * value or Comparator is needed
+     *
+     * @param key the String to hash to a bucket in the table
+     * @return the first value inserted under key,
+     * or null if this table contains no mapping for the key
+     * @throws NullPointerException if key == null
+     */
+    public T get(String key) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("get: Cannot hash a null value");
+        }
+        int h = Hashing.mix(key);
+        ReentrantReadWriteLock lock = lockFor(h);
+        lock.readLock().lock();
+        try {
+            Node node = find(h, key, null, null);
+            return node == null ? null : valueOf(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Determines whether any value is
+     * stored under a key
+     *
+     * @param key the String to hash to a bucket in the table
+     * @return whether the key is in the table
+     * @throws NullPointerException if key == null
+     */
+    public boolean contains(String key) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("contains: cannot hash null value");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * Determines whether a specified key is in
+     * the table
+     *
+     * @param key the String to hash to a bucket in the table
+     * @param t the value to check
+     * @param c Comparator object to use for comparisons
+     * @return  whether the key is in the table
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean contains(String key, T t, Comparator<T> c) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("contains: cannot hash null value");
+        }
+        return get(key, t, c) != null;
+    }
+
+    /**
+     * Gets the values inserted under the given key
+     *
+     * @param key the String to hash to a bucket in the table
+     * @return List of elements at the given key
+     * or null if this table contains no mapping for the key
+     * @throws NullPointerException if key == null
+     */
+    public List<T> getList(String key) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("getList: Cannot hash a null value");
+        }
+        return collect(key, null, null);
+    }
+
+    /**
+     * Returns a List of all elements that match the search value
+     *
+     * @param key the String to hash to a bucket in the table
+     * @param t the value to find
+     * @param c Comparator object to use for comparisons
+     * @return a list of elements to which the given search value matches
+     * where the key is mapped, or null if this table contains no mapping for the key.
+     * @precondition key != null
+     * @throws NullPointerException if the precondition is violated
+     */
+    public List<T> getAll(String key, T t, Comparator<T> c) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("getAll: Cannot hash a null value");
+        }
+        return collect(key, t, c);
+    }
+
+    /**
+     * Walks the bucket of key and returns the first node
+     * whose key equals key and whose value matches t,
+     * or the first node under key when c is null
+     * The caller must hold the stripe lock of h
+     * @return the node or null if there is none
+     */
+    private Node find(int h, String key, T t, Comparator<T> c) {
+        Node[] tab = tableFor(h);
+        for (Node node = tab[h & (tab.length - 1)]; node != null; node = node.next) {
+            if (node.hash == h && node.key.equals(key) && (c == null || c.compare(t, valueOf(node)) == 0)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects, under the stripe's read lock, every value under key
+     * that matches t, or every value when c is null
+     * @return the matches, or null if there are none
+     */
+    private List<T> collect(String key, T t, Comparator<T> c) {
+        List<T> result = new List<>();
+        int h = Hashing.mix(key);
+        ReentrantReadWriteLock lock = lockFor(h);
+        lock.readLock().lock();
+        try {
+            Node[] tab = tableFor(h);
+            for (Node node = tab[h & (tab.length - 1)]; node != null; node = node.next) {
+                if (node.hash == h && node.key.equals(key) && (c == null || c.compare(t, valueOf(node)) == 0)) {
+                    result.addLast(valueOf(node));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result.getLength() > 0 ? result : null;
+    }
+
+    /**
+     * returns the value stored in a node
+     * @param node a node of the table
+     * @return the value of node
+     */
+    @SuppressWarnings("unchecked")
+    private T valueOf(Node node) {
+        return (T) node.value;
+    }
+
+    /**Mutators*/
+
+    /**
+     * Inserts a new element at the end of
+     * the bucket for its key
+     * Starts doubling the table when it holds
+     * more than the allowed number of elements,
+     * and helps move the old buckets while it grows
+     * @param key the String to hash to a bucket in the table
+     * @param t the value to insert
+     * @throws NullPointerException for a null key
+     */
+    public void put(String key, T t) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("put: cannot hash null value");
+        }
+        int h = Hashing.mix(key), s = h & stripeMask;
+        locks[s].writeLock().lock();
+        try {
+            rehashStep(s);
+            Node[] tab = tableFor(h);
+            int b = h & (tab.length - 1);
+            Node node = new Node(key, h, t);
+            if (tab[b] == null) {
+                tab[b] = node;
+            } else {
+                Node last = tab[b];
+                while (last.next != null) {
+                    last = last.next;
+                }
+                last.next = node;
+            }
+            count.increment();
+        } finally {
+            locks[s].writeLock().unlock();
+        }
+        Tables current = tables.get();
+        if (current.oldTable != null) {
+            helpRehash();
+        } else if (count.sum() > MAX_LOAD_FACTOR * current.table.length) {
+            tables.compareAndSet(current, new Tables(new Node[2 * current.table.length], current.table, locks.length));
+        }
+    }
+
+    /**
+     * Inserts a new element under the key
+     * given by the table's key extractor
+     * @param t the value to insert
+     * @precondition the table was created with a key extractor
+     * @throws IllegalStateException when the precondition is violated
+     */
+    public void put(T t) throws IllegalStateException {
+        if (keyOf == null) {
+            throw new IllegalStateException("put: table has no key extractor");
+        }
+        put(keyOf.apply(t), t);
+    }
+
+    /**
+     * removes the value t, found by its key and
+     * by identity, from the table
+     * has no effect if t is not in the table
+     * @param t the value to remove
+     * @precondition the table was created with a key extractor
+     * @throws IllegalStateException when the precondition is violated
+     */
+    public void remove(T t) throws IllegalStateException {
+        if (keyOf == null) {
+            throw new IllegalStateException("remove: table has no key extractor");
+        }
+        remove(keyOf.apply(t), t, (a, b) -> a == b ? 0 : 1);
+    }
+
+    /**
+     * removes the value t from the table
+     * has no effect if t is not in
+     * the table
+     * @param key the String to hash to a bucket in the table
+     * @param t the value to remove
+     * @param c Comparator object to use for comparisons
+     * @throws NullPointerException if the key is null
+     */
+    public void remove(String key, T t, Comparator<T> c) throws NullPointerException {
+        if (key == null) {
+            throw new NullPointerException("remove: cannot hash null value");
+        }
+        int h = Hashing.mix(key), s = h & stripeMask;
+        locks[s].writeLock().lock();
+        try {
+            rehashStep(s);
+            Node[] tab = tableFor(h);
+            int b = h & (tab.length - 1);
+            Node prev = null;
+            for (Node node = tab[b]; node != null; prev = node, node = node.next) {
+                if (node.hash == h && node.key.equals(key) && c.compare(t, valueOf(node)) == 0) {
+                    if (prev == null) {
+                        tab[b] = node.next;
+                    } else {
+                        prev.next = node.next;
+                    }
+                    count.decrement();
+                    return;
+                }
+            }
+        } finally {
+            locks[s].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clears this hash table so that it contains no keys.
+     */
+    public void clear() {
+        lockAll();
+        try {
+            tables.set(new Tables(new Node[tables.get().table.length], null, locks.length));
+            count.reset();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Moves the next few old buckets of stripe s into the new table
+     * Since each bucket b of the old table splits into
+     * buckets b and b + size, which belong to the same stripe,
+     * holding the stripe's lock is enough and chains keep
+     * their relative order
+     * The caller must hold the write lock of stripe s
+     * @param s the stripe whose buckets to move
+     */
+    private void rehashStep(int s) {
+        Tables t = tables.get();
+        if (t.oldTable == null) {
+            return;
+        }
+        int size = t.oldTable.length, perStripe = size >>> stripeShift;
+        for (int i = 0; i < REHASH_STEPS && t.moved[s] < perStripe; i++) {
+            int b = (t.moved[s] << stripeShift) | s;
+            Node lowTail = null, highTail = null;
+            for (Node node = t.oldTable[b]; node != null; ) {
+                Node next = node.next;
+                node.next = null;
+                if ((node.hash & size) == 0) {
+                    if (lowTail == null) {
+                        t.table[b] = node;
+                    } else {
+                        lowTail.next = node;
+                    }
+                    lowTail = node;
+                } else {
+                    if (highTail == null) {
+                        t.table[b + size] = node;
+                    } else {
+                        highTail.next = node;
+                    }
+                    highTail = node;
+                }
+                node = next;
+            }
+            t.oldTable[b] = null;
+            t.moved[s]++;
+            if (t.left.decrementAndGet() == 0) {
+                tables.compareAndSet(t, new Tables(t.table, null, locks.length)); // every bucket has moved
+            }
+        }
+    }
+
+    /**
+     * Moves a few old buckets of the next stripe in turn, so that
+     * the resize finishes even when puts keep hitting the same
+     * stripes. A stripe that another thread holds is skipped
+     */
+    private void helpRehash() {
+        int s = helpCursor.getAndIncrement() & stripeMask;
+        if (locks[s].writeLock().tryLock()) {
+            try {
+                rehashStep(s);
+            } finally {
+                locks[s].writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves every remaining old bucket into the new table
+     * The caller must hold every stripe's write lock
+     */
+    private void finishRehash() {
+        Tables t = tables.get();
+        if (t.oldTable == null) {
+            return;
+        }
+        int perStripe = t.oldTable.length >>> stripeShift;
+        for (int s = 0; s < locks.length; s++) {
+            while (t.moved[s] < perStripe) {
+                rehashStep(s);
+            }
+        }
+    }
+
+    /**
+     * Takes every stripe's write lock, always in the same order
+     * so that two threads locking everything cannot deadlock
+     */
+    private void lockAll() {
+        for (int s = 0; s < locks.length; s++) {
+            locks[s].writeLock().lock();
+        }
+    }
+
+    /**
+     * Releases every stripe's write lock in reverse order
+     */
+    private void unlockAll() {
+        for (int s = locks.length - 1; s >= 0; s--) {
+            locks[s].writeLock().unlock();
+        }
+    }
+
+    /**Additional Methods*/
+
+    /**
+     * Prints every bucket of the table on its own line,
+     * or "This bucket is empty." for empty buckets
+     */
+    public void printTable() {
+        System.out.print(toString(true));
+    }
+
+    /**
+     * Starting at the first bucket, and continuing
+     * in order until the last bucket, concatenates
+     * all elements into one String
+     */
+    @Override public String toString() {
+        return toString(false);
+    }
+
+    /**
+     * Concatenates the elements of every bucket while
+     * holding all stripe locks, so the result is consistent
+     * @param showEmpty whether to mark empty buckets
+     */
+    private String toString(boolean showEmpty) {
+        StringBuilder sb = new StringBuilder();
+        lockAll();
+        try {
+            finishRehash();
+            for (Node bucket : tables.get().table) {
+                if (bucket == null) {
+                    if (showEmpty) {
+                        sb.append("This bucket is empty.\n\n");
+                    }
+                }
+                for (Node node = bucket; node != null; node = node.next) {
+                    sb.append(node.value).append("\n\n");
+                }
+            }
+        } finally {
+            unlockAll();
+        }
+        return sb.toString();
+    }
+
+}
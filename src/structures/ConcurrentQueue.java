@@ -0,0 +1,196 @@
+package structures;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ConcurrentQueue.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * A lock-free queue that any number of threads can enqueue to and
+ * dequeue from at once, following Michael and Scott's algorithm
+ * The list always starts with a dummy node. front points at the dummy,
+ * whose successor holds the first value, and end points at the last node
+ * or, briefly, the one before it. Every change is a single compare and
+ * set, and a thread that finds end lagging behind swings it forward
+ * before retrying, so no thread ever waits for another
+ *
+ * Since another thread may dequeue between a call to getFront and a call
+ * to dequeue, dequeue returns the value it removed
+ */
+public class ConcurrentQueue<T> {
+	private static class Node<T> {
+		private volatile T data; // null only in the dummy node
+		private final AtomicReference<Node<T>> next;
+
+		public Node(T data) {
+			this.data = data;
+			this.next = new AtomicReference<>(null);
+		}
+	}
+
+	private final AtomicReference<Node<T>> front;
+	private final AtomicReference<Node<T>> end;
+
+	/**** CONSTRUCTOR ****/
+
+	/**
+	 * Instantiates a new, empty ConcurrentQueue
+	 *
+	 * @postcondition creates a new instance of a ConcurrentQueue
+	 */
+	public ConcurrentQueue() {
+		Node<T> dummy = new Node<>(null);
+		front = new AtomicReference<>(dummy);
+		end = new AtomicReference<>(dummy);
+	}
+
+	/**** ACCESSORS ****/
+
+	/**
+	 * Returns the value stored at the front of the ConcurrentQueue
+	 * Other threads may remove it right after it is returned
+	 *
+	 * @precondition !isEmpty()
+	 * @return the value stored at the front of the ConcurrentQueue
+	 * @throws NoSuchElementException when precondition is violated
+	 */
+	public T getFront() throws NoSuchElementException {
+		while (true) {
+			Node<T> first = front.get().next.get();
+			if (first == null) {
+				throw new NoSuchElementException("getFront: Queue is Empty. No data to access!");
+			}
+			T data = first.data;
+			if (data != null) {
+				return data;
+			}
+			// first was dequeued and became the dummy meanwhile, so look again
+		}
+	}
+
+	/**
+	 * Returns whether the ConcurrentQueue was empty at the moment of the call
+	 *
+	 * @return whether the ConcurrentQueue is empty
+	 */
+	public boolean isEmpty() {
+		return front.get().next.get() == null;
+	}
+
+	/**
+	 * Counts the values in the ConcurrentQueue by walking it
+	 * The count is exact only while no other thread changes the queue
+	 *
+	 * @return the length of the ConcurrentQueue
+	 */
+	public int getLength() {
+		int length = 0;
+		for (Node<T> node = front.get().next.get(); node != null; node = node.next.get()) {
+			length++;
+		}
+		return length;
+	}
+
+	/**** MUTATORS ****/
+
+	/**
+	 * Links a new end node after the current end
+	 *
+	 * @param data the data to insert at the end of the ConcurrentQueue
+	 * @precondition data != null
+	 * @postcondition a new end node is created
+	 * @throws NullPointerException when precondition is violated
+	 */
+	public void enqueue(T data) throws NullPointerException {
+		if (data == null) {
+			throw new NullPointerException("enqueue(): Cannot insert null into a concurrent queue");
+		}
+		Node<T> node = new Node<>(data);
+		while (true) {
+			Node<T> last = end.get();
+			Node<T> next = last.next.get();
+			if (last != end.get()) {
+				continue; // end moved while reading, so start over
+			}
+			if (next != null) {
+				end.compareAndSet(last, next); // help the enqueue in progress finish
+			} else if (last.next.compareAndSet(null, node)) {
+				end.compareAndSet(last, node); // if this fails another thread moved end for us
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the front of the ConcurrentQueue
+	 *
+	 * @precondition !isEmpty()
+	 * @return the removed value
+	 * @postcondition front element is removed from the front of the
+	 *                ConcurrentQueue
+	 * @throws NoSuchElementException when precondition is violated
+	 */
+	public T dequeue() throws NoSuchElementException {
+		T data = poll();
+		if (data == null) {
+			throw new NoSuchElementException("dequeue(): Cannot remove from an empty queue!");
+		}
+		return data;
+	}
+
+	/**
+	 * Removes and returns the element at the front of the ConcurrentQueue,
+	 * or returns null when it is empty
+	 *
+	 * @return the removed value, or null if there was none
+	 */
+	public T poll() {
+		while (true) {
+			Node<T> first = front.get();
+			Node<T> last = end.get();
+			Node<T> next = first.next.get();
+			if (first != front.get()) {
+				continue; // front moved while reading, so start over
+			}
+			if (next == null) {
+				return null;
+			}
+			if (first == last) {
+				end.compareAndSet(last, next); // end is lagging behind, help it along
+			} else {
+				T data = next.data;
+				if (front.compareAndSet(first, next)) {
+					next.data = null; // next is the new dummy, so let the value be collected
+					return data;
+				}
+			}
+		}
+	}
+
+	/**** ADDITIONAL OPERATIONS ****/
+
+	/**
+	 * ConcurrentQueue with each value separated by spaces At the end of the
+	 * ConcurrentQueue a new line
+	 *
+	 * @return the ConcurrentQueue as a String for display
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (Node<T> node = front.get().next.get(); node != null; node = node.next.get()) {
+			T data = node.data;
+			if (data != null) {
+				result.append(data).append(" ");
+			}
+		}
+		return (result.append("\n").toString());
+	}
+}
@@ -16,10 +16,12 @@ public class Graph {
 
     private int vertices;
     private int edges;
-    private ArrayList<List<Integer>> adj;
-    private ArrayList<Character> color;
-    private ArrayList<Integer> distance;
-    private ArrayList<Integer> parent;
+    private ArrayList<IntList> adj; // adj.get(u - 1) holds v - 1 for every edge u -> v, sorted and without repeats
+    private ArrayList<IntList> radj; // radj.get(v - 1) holds u - 1 for every edge u -> v, sorted and without repeats
+    private BFSResult lastSearch; // result of the most recent BFS(Integer), null before the first
+    private CSRGraph snapshot; // read-only copy of adj, null until first requested
+    private int modCount; // number of changes to adj, used to detect a stale snapshot
+    private int snapshotModCount; // modCount when snapshot was built
 
     /**
      * Constructors
@@ -32,15 +34,15 @@ public class Graph {
     public Graph(int n) { //tested
         vertices = n;
         edges = 0;
-        adj = new ArrayList<List<Integer>>();
-        color = new ArrayList<Character>();
-        distance = new ArrayList<Integer>();
-        parent = new ArrayList<Integer>();
+        adj = new ArrayList<IntList>(n);
+        radj = new ArrayList<IntList>(n);
+        lastSearch = null;
+        snapshot = null;
+        modCount = 0;
+        snapshotModCount = 0;
         for (int i = 0; i < n; i++) {
-            adj.add(new List<Integer>());//initialize vertices as list objects in adj[]
-            parent.add(null);//initialized parent list. Each index represent a vertice
-            distance.add(-1); //initialized distance list. Each index represent a vertice
-            color.add(' ');//initialized color list. Each index represent a vertice
+            adj.add(new IntList());//initialize vertices as int lists in adj[]
+            radj.add(new IntList());
         }
     }
 
@@ -76,54 +78,136 @@ public class Graph {
     }
 
     /**
-     * Returns the value of the distance[v]
+     * Returns the distance of v found by the most recent BFS(Integer)
      *
      * @param v a vertex in the graph
-     * @precondition 0 < v <= vertices @re turn the distance of vertex v @throws
-     * IndexOutOfBoundsException when the p recondition is violated
+     * @precondition 0 < v <= vertices
+     * @return the distance of vertex v, or -1 if it was not reached
+     * @throws IndexOutOfBoundsException when the precondition is violated
      */
     public Integer getDistance(Integer v) throws IndexOutOfBoundsException {
         if (!(0 < v && v <= vertices)) {
             throw new IndexOutOfBoundsException("getDistance: index out of bounds");
         }
-        return distance.get(v - 1);
+        return searched(v) ? lastSearch.getDistance(v) : -1;
     }
 
     /**
-     * Returns the value of the parent[v]
+     * Returns the parent of v found by the most recent BFS(Integer)
+     * When several vertices one level closer to the source have an edge
+     * to v, the parent is the one with the smallest number, not the one
+     * that happened to reach v first
      *
      * @param v a vertex in the graph
-     * @precondition 0 < v <= vertices @re turn the parent of vertex v @throws
-     * IndexOutOfBoundsException when the precondition is violated
+     * @precondition 0 < v <= vertices
+     * @return the parent of vertex v, or null if it has none
+     * @throws IndexOutOfBoundsException when the precondition is violated
      */
     public Integer getParent(Integer v) throws IndexOutOfBoundsException {
         if (!(0 < v && v <= vertices)) {
             throw new IndexOutOfBoundsException("getParent: index out of bounds");
         }
-        return parent.get(v - 1);
+        if (!searched(v) || lastSearch.getParent(v) == 0) {
+            return null;
+        }
+        return lastSearch.getParent(v);
     }
 
     /**
-     * Returns the value of the color[v]
+     * Returns the color of v after the most recent BFS(Integer): 'B' when it
+     * was reached, 'W' when it was not, or ' ' before any search has run
      *
      * @param v a vertex in the graph
-     * @precondition 0< v <= vertices @re turn the color of vertex v @throws
-     * IndexOutOfBoundsException when th e precondition is violated
+     * @precondition 0 < v <= vertices
+     * @return the color of vertex v
+     * @throws IndexOutOfBoundsException when the precondition is violated
      */
     public Character getColor(Integer v) throws IndexOutOfBoundsException {
         if (!(0 < v && v <= vertices)) {
             throw new IndexOutOfBoundsException("getColor: index out of bounds");
         }
-        return color.get(v - 1);
+        if (lastSearch == null) {
+            return ' ';
+        }
+        return searched(v) && lastSearch.isReached(v) ? 'B' : 'W';
+    }
+
+    /**
+     * Returns whether v was already a vertex when the most recent
+     * BFS(Integer) ran; vertices added since were not reached by it
+     */
+    private boolean searched(int v) {
+        return lastSearch != null && v <= lastSearch.getNumVertices();
+    }
+
+    /**
+     * Returns whether there is an edge from u to v, using a binary search of
+     * the adjacency list of u
+     *
+     * @param u the vertex the edge leaves
+     * @param v the vertex the edge enters
+     * @precondition 0 < u, v <= vertices
+     * @return whether the edge u -> v exists
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public boolean hasEdge(int u, int v) throws IndexOutOfBoundsException {
+        if (!(0 < u && u <= vertices && 0 < v && v <= vertices)) {
+            throw new IndexOutOfBoundsException("hasEdge: index out of bounds");
+        }
+        return adj.get(u - 1).binarySearch(v - 1) >= 0;
+    }
+
+    /**
+     * Returns whether edges were added or removed since the last snapshot
+     * was built
+     *
+     * @return whether snapshot() would rebuild
+     */
+    public boolean isSnapshotStale() {
+        return snapshot == null || snapshotModCount != modCount;
+    }
+
+    /**
+     * Returns a read-only CSR snapshot of the graph, rebuilding it only when
+     * edges were added or removed since it was last built
+     *
+     * @return a snapshot matching the current edges
+     */
+    public CSRGraph snapshot() {
+        if (isSnapshotStale()) {
+            rebuildSnapshot();
+        }
+        return snapshot;
     }
 
     /**
      * * Mutators **
      */
     
+    /**
+     * Adds a new vertex with no edges, numbered vertices + 1
+     * The adjacency lists are kept in an ArrayList, which grows
+     * geometrically, so adding a vertex takes amortized constant time
+     * and never rebuilds the graph
+     *
+     * @return the number of the new vertex
+     */
+    public int addVertex() {
+        adj.add(new IntList());
+        radj.add(new IntList());
+        vertices++;
+        modCount++;
+        return vertices;
+    }
+
     /**
      * Inserts vertex v into the adjacency list of vertex u (i.e. inserts v into
-     * the list at index u)
+     * the list at index u), keeping the list sorted, and records u as an
+     * incoming neighbor of v
+     * Has no effect when the edge already exists
+     * Binary search finds both positions, but inserting shifts the later
+     * entries of each list, so an edge costs O(d) in the out-degree of u
+     * plus the in-degree of v, on the incoming lists as on the outgoing ones
      *
      * @precondition, 0 < u, v <= vertices @th rows IndexOutOfBounds exception
      * when the precondition is violated
@@ -133,7 +217,15 @@ public class Graph {
             throw new IndexOutOfBoundsException("addDirectedEdge: index out of bounds");
         }
         // only allow traversal of edge in one direction
-        adj.get(u - 1).addLast(v);
+        IntList adjacents = adj.get(u - 1);
+        int i = adjacents.binarySearch(v - 1);
+        if (i >= 0) {
+            return; // the edge is already there
+        }
+        adjacents.insert(-i - 1, v - 1);
+        IntList incoming = radj.get(v - 1);
+        incoming.insert(-incoming.binarySearch(u - 1) - 1, u - 1);
+        modCount++;
 
         /* The following part is for testing purpose
         parent.set(v - 1, u);
@@ -165,8 +257,9 @@ public class Graph {
     }
     
     /**
-     * Removes all occurrences of vertex v from the adjacency list of vertex u and
-     * removes all occurrences u from the adjacency list of vertex v
+     * Removes vertex v from the adjacency list of vertex u and
+     * removes u from the adjacency list of vertex v
+     * Each is found by binary search
      *
      * @precondition, 0 < u, v <= vertices 
      * @throws IndexOutOfBounds exception
@@ -176,26 +269,49 @@ public class Graph {
     	if (!(0 < u && u <= vertices && 0 < v && v <= vertices)) {
             throw new IndexOutOfBoundsException("addUndirectedEdge: index out of bounds");
         }
-    	List<Integer> uList = adj.get(u - 1),
-    			vList = adj.get(v - 1);
-    	uList.placeIterator();
-    	while (!uList.offEnd()) {
-    		if (uList.getIterator().equals(v)) {
-    			uList.removeIterator();
-    		} else {
-    			uList.advanceIterator();
-    		}
-    	}
-    	vList.placeIterator();
-    	while (!vList.offEnd()) {
-    		if (vList.getIterator().equals(u)) {
-    			vList.removeIterator();
-    		} else {
-    			vList.advanceIterator();
-    		}
+    	removeDirectedEdge(u, v);
+    	removeDirectedEdge(v, u);
+    }
+
+    /**
+     * Removes the edge u -> v if it exists
+     * Like adding, this shifts the later entries of both lists, so it
+     * costs O(d) in the out-degree of u plus the in-degree of v
+     */
+    private void removeDirectedEdge(int u, int v) {
+    	IntList adjacents = adj.get(u - 1);
+    	int i = adjacents.binarySearch(v - 1);
+    	if (i >= 0) {
+    		adjacents.removeAt(i);
+    		IntList incoming = radj.get(v - 1);
+    		incoming.removeAt(incoming.binarySearch(u - 1));
+    		edges--;
+    		modCount++;
     	}
     }
 
+    /**
+     * Builds a new CSR snapshot from the current adjacency lists in two passes:
+     * the first sums the degrees into offsets, the second copies each
+     * adjacency list into its slice of targets. Snapshots handed out earlier
+     * are left unchanged
+     *
+     * @return the new snapshot
+     */
+    public CSRGraph rebuildSnapshot() {
+        int[] offsets = new int[vertices + 1];
+        for (int i = 0; i < vertices; i++) {
+            offsets[i + 1] = offsets[i] + adj.get(i).getLength();
+        }
+        int[] targets = new int[offsets[vertices]];
+        for (int i = 0; i < vertices; i++) {
+            adj.get(i).copyInto(targets, offsets[i]);
+        }
+        snapshot = new CSRGraph(vertices, offsets, targets);
+        snapshotModCount = modCount;
+        return snapshot;
+    }
+
     /**
      * * Additional Operations **
      */
@@ -209,13 +325,18 @@ public class Graph {
     public String toString() {
         String result = "";
         for (int i = 0; i < vertices; i++) {
-            result += i + "\t" + adj.get(i).toString()+"\n";
+            IntList adjacents = adj.get(i);
+            result += (i + 1) + "\t";
+            for (int j = 0; j < adjacents.getLength(); j++) {
+                result += (adjacents.get(j) + 1) + " ";
+            }
+            result += "\n";
         }
         return result + "\n";
     }
 
     /**
-     * Prints the current values in the parallel ArrayLists after executing BFS.
+     * Prints the results of the most recent BFS(Integer).
      * First prints the heading: v <tab> c <tab> p <tab> d 
      * Then, prints out this
      * information for each vertex in the graph 
@@ -230,8 +351,151 @@ public class Graph {
         }
     }
 
+    /**
+     * Explores the vertices within maxHops of source, counting the shortest
+     * paths to each, such as the number of mutual friends of a vertex two
+     * hops away. The search runs on the adjacency lists themselves, so no
+     * snapshot is rebuilt after edges change. With a reused result its cost
+     * depends only on the neighborhood within maxHops, not on the size of
+     * the graph
+     *
+     * @param source the vertex to search from
+     * @param maxHops the largest distance to explore
+     * @param result the result to reuse, or null to allocate a new one
+     * @precondition 0 < source <= vertices and maxHops >= 0
+     * @return the result holding distances, parents and path counts
+     * @throws IndexOutOfBoundsException when source is not a vertex
+     * @throws IllegalArgumentException when maxHops is negative
+     */
+    public BFSResult expand(int source, int maxHops, BFSResult result)
+            throws IndexOutOfBoundsException, IllegalArgumentException {
+        if (!(0 < source && source <= vertices)) {
+            throw new IndexOutOfBoundsException("expand: index out of bounds");
+        } else if (maxHops < 0) {
+            throw new IllegalArgumentException("expand: maxHops cannot be negative");
+        }
+        if (result == null) {
+            result = new BFSResult();
+        }
+        result.reset(vertices, source - 1);
+        result.countPaths();
+        while (result.hasQueued()) {
+            int x = result.nextQueued();
+            int d = result.distanceOf(x) + 1;
+            if (d > maxHops) {
+                break; // vertices leave the queue in order of distance, so the rest are at the horizon too
+            }
+            long count = result.pathsOf(x);
+            IntList adjacents = adj.get(x);
+            for (int i = 0; i < adjacents.getLength(); i++) {
+                int y = adjacents.get(i);
+                if (!result.isVisited(y)) {
+                    result.visit(y, x, d);
+                    result.addPaths(y, count);
+                } else if (result.distanceOf(y) == d) {
+                    result.addPaths(y, count); // another shortest path into y
+                    result.offerParent(y, x);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds a shortest path from source to target by searching forward from
+     * source and backward from target at the same time. Each round expands a
+     * whole level of whichever frontier is smaller, and the search stops at
+     * the end of the first level where the two sides meet, so only the
+     * vertices around the two ends are visited
+     *
+     * @param source the first vertex of the path
+     * @param target the last vertex of the path
+     * @precondition 0 < source, target <= vertices
+     * @return the vertices of the path from source to target, or null if
+     * target cannot be reached from source
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public IntList shortestPath(int source, int target) throws IndexOutOfBoundsException {
+        return shortestPath(source, target, null, null);
+    }
+
+    /**
+     * Finds a shortest path from source to target like
+     * shortestPath(int, int), reusing caller-owned results for the two
+     * searches. The search runs on the adjacency lists themselves, going
+     * backward from target along the incoming lists, so no snapshot is
+     * built. With reused results, a query reads and clears only the
+     * vertices the two searches reach
+     *
+     * @param source the first vertex of the path
+     * @param target the last vertex of the path
+     * @param forward the result to reuse for the search from source, or null
+     * @param backward the result to reuse for the search from target, or null
+     * @precondition 0 < source, target <= vertices
+     * @return the vertices of the path from source to target, or null if
+     * target cannot be reached from source
+     * @throws IndexOutOfBoundsException when the precondition is violated
+     */
+    public IntList shortestPath(int source, int target, BFSResult forward, BFSResult backward)
+            throws IndexOutOfBoundsException {
+        if (!(0 < source && source <= vertices && 0 < target && target <= vertices)) {
+            throw new IndexOutOfBoundsException("shortestPath: index out of bounds");
+        }
+        if (forward == null) {
+            forward = new BFSResult();
+        }
+        if (backward == null) {
+            backward = new BFSResult();
+        }
+        forward.reset(vertices, source - 1);
+        backward.reset(vertices, target - 1);
+        int meet = source == target ? source - 1 : -1;
+        while (meet == -1 && forward.hasQueued() && backward.hasQueued()) {
+            if (forward.queuedCount() <= backward.queuedCount()) {
+                meet = expandLevel(adj, forward, backward);
+            } else {
+                meet = expandLevel(radj, backward, forward);
+            }
+        }
+        return meet == -1 ? null : BFSResult.joinPaths(forward, backward, meet);
+    }
+
+    /**
+     * Expands every queued vertex of one level of the search along the
+     * given adjacency lists, and looks for vertices the other search has
+     * already reached
+     *
+     * @param lists the outgoing or the incoming adjacency lists
+     * @param search the search to advance by one level
+     * @param other the search coming from the other end
+     * @return the 0-based meeting vertex with the shortest total distance,
+     * or -1 if the searches have not met
+     */
+    private static int expandLevel(ArrayList<IntList> lists, BFSResult search, BFSResult other) {
+        int meet = -1, best = Integer.MAX_VALUE;
+        for (int n = search.queuedCount(); n > 0; n--) {
+            int x = search.nextQueued();
+            int d = search.distanceOf(x) + 1;
+            IntList adjacents = lists.get(x);
+            for (int i = 0; i < adjacents.getLength(); i++) {
+                int y = adjacents.get(i);
+                if (!search.isVisited(y)) {
+                    search.visit(y, x, d);
+                    if (other.isVisited(y) && d + other.distanceOf(y) < best) {
+                        best = d + other.distanceOf(y);
+                        meet = y;
+                    }
+                }
+            }
+        }
+        return meet;
+    }
+
     /**
      * Performs breath first search on this Graph give a source vertex
+     * The results can be read back with getDistance, getParent and getColor
+     * until the next call. Use BFS(int, BFSResult) for searches that need
+     * to run at the same time
      *
      * @param source
      * @precondition graph must not be empty
@@ -241,45 +505,53 @@ public class Graph {
      * in the graph
      */
     public void BFS(Integer source) throws IllegalStateException, IndexOutOfBoundsException {
+        lastSearch = BFS(source, lastSearch);
+    }
+
+    /**
+     * Performs breath first search on this Graph from a source vertex into a
+     * caller-owned result. The graph itself is only read, so any number of
+     * searches with different results can run at once, as long as no edges
+     * are added or removed meanwhile. No memory is allocated per edge, and a
+     * reused result allocates nothing unless the graph has grown
+     * Each parent is the smallest-numbered vertex one level closer with an
+     * edge to it, so CSRGraph.BFS and ParallelBFS give the same parents
+     *
+     * @param source the vertex to search from
+     * @param result the result to reuse, or null to allocate a new one
+     * @precondition graph must not be empty
+     * @precondition source is a vertex in the graph
+     * @return the result holding distances and parents from source
+     * @throws IllegalStateException if the graph is empty
+     * @throws IndexOutOfBoundsException when the source vertex is not a vertex
+     * in the graph
+     */
+    public BFSResult BFS(int source, BFSResult result) throws IllegalStateException, IndexOutOfBoundsException {
         // handle precondition violations
         if (isEmpty()) {
             throw new IllegalStateException("BFS: graph cannot be empty");
         } else if (!(source > 0 && source <= vertices)) {
             throw new IndexOutOfBoundsException("BFS: source is not in graph");
         }
-
-        for (int i = 0; i < vertices; i++) {
-            color.set(i, 'W');
-            distance.set(i, -1);
-            parent.set(i, null);
+        if (result == null) {
+            result = new BFSResult();
         }
-        /* 
-    	 * index at source-1 because vertices are 1-indexed
-    	 * while ArrayList is 0 indexed
-         */
-        color.set(source - 1, 'G');
-        distance.set(source - 1, 0);
-        Queue<Integer> Q = new Queue<>();
-        Q.enqueue(source - 1);
-        while (!Q.isEmpty()) {
-            int x = Q.getFront();
-            Q.dequeue();
-            //List<Integer> adjacents = adj.get(x - 1);//Error. Must call copy constructor
-            List<Integer> adjacents = new List<>(adj.get(x));//no need to call x-1 because first item in Q is already source-1 
-            adjacents.placeIterator();
+        result.reset(vertices, source - 1);
+        while (result.hasQueued()) {
+            int x = result.nextQueued();
+            int d = result.distanceOf(x) + 1;
+            IntList adjacents = adj.get(x);
             for (int i = 0; i < adjacents.getLength(); i++) {
-                int y = adjacents.getIterator() - 1;//decrement y cause iterator will not return a value based on arrayList 0-based index
+                int y = adjacents.get(i);
                 // check if vertex y has not been processed yet
-                if (color.get(y).equals('W')) { //comparing string
-                    color.set(y, 'G');
-                    distance.set(y, distance.get(x) + 1);
-                    parent.set(y, x);
-                    Q.enqueue(y);
+                if (!result.isVisited(y)) {
+                    result.visit(y, x, d);
+                } else if (result.distanceOf(y) == d) {
+                    result.offerParent(y, x); // keep the smallest parent
                 }
-                adjacents.advanceIterator();//going through adj list.
             }
-            color.set(x, 'B');//move this out of for loop
         }
+        return result;
     }
 
 }
@@ -2,6 +2,7 @@ package structures;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 
 /**
  * HashTable.java
@@ -15,8 +16,46 @@ import java.util.Comparator;
  */
 public class HashTable<T> {
     
+    private static final int DEFAULT_SIZE = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int REHASH_STEPS = 2; // old buckets moved per operation while resizing
+
+    /**
+     * A value together with the key it was inserted under and the
+     * key's hash, so that entries can be moved to a larger table
+     * without hashing their keys again
+     */
+    private class Entry {
+        private final String key;
+        private final int hash;
+        private final T value;
+
+        public Entry(String key, int hash, T value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
     private int numElements;
-    private ArrayList<List<T> > Table;
+    private ArrayList<List<Entry> > Table;
+    private ArrayList<List<Entry> > oldTable; // buckets still to move while resizing, or null
+    private int rehashIndex; // next bucket of oldTable to move
+    private int resizeCount; // number of times the Table has grown
+
+    /**
+     * Constructor for the hash 
+     * table. Initializes the Table to
+     * a default size
+     */
+    public HashTable() {
+        this(DEFAULT_SIZE);
+    }
 
     /**
      * Constructor for the hash 
@@ -24,28 +63,31 @@ public class HashTable<T> {
      * be sized according to value passed
      * in as a parameter
      * Inserts size empty Lists into the
-     * table. Sets numElements to 0
-     * @param size the table size
+     * table, rounded up to a power of two.
+     * Sets numElements to 0
+     * The table grows by itself once it holds more
+     * than 3/4 as many elements as buckets
+     * @param size the initial table size
      */
     public HashTable(int size) {
-        Table = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-        	Table.add(new List<T>());
-        }
+        Table = newTable(Capacity.powerOfTwoAtLeast(size));
+        oldTable = null;
+        rehashIndex = 0;
         numElements = 0;
+        resizeCount = 0;
     }
        
     /**Accessors*/
     
     /**
-     * returns the hash value in the Table
-     * for a given Object 
-     * @param key the string to hash to a bucket in the table
-     * @return the index in the Table
+     * returns the bucket of a table for a
+     * hash code, taken from its low bits
+     * @param hash the mixed hash code of a key
+     * @param table the table to hash into
+     * @return the index in the table
      */
-    private int hash(String key) {
-    	int code = Math.abs(key.hashCode());
-        return code % Table.size();
+    private int index(int hash, ArrayList<List<Entry> > table) {
+        return hash & (table.size() - 1);
     }
     
     /**
@@ -56,12 +98,22 @@ public class HashTable<T> {
      * @throws IndexOutOfBoundsException
      */
     public int countBucket(int index) throws IndexOutOfBoundsException{
+        finishRehash();
         if (index < 0 || index >= Table.size()) {
         	throw new IndexOutOfBoundsException("countBucket: index out of range");
         }
     	return Table.get(index).getLength();
     }
     
+    /**
+     * returns the current number of buckets in the Table
+     * @return the number of buckets
+     */
+    public int getNumBuckets() {
+        finishRehash();
+        return Table.size();
+    }
+    
     /**
      * returns total number of keys in the Table
      * @return total number of keys
@@ -70,6 +122,69 @@ public class HashTable<T> {
         return numElements;
     }
     
+    /**
+     * returns how many times the Table has grown
+     * @return the number of resizes
+     */
+    public int getResizeCount() {
+        return resizeCount;
+    }
+    
+    /**
+     * returns the average number of keys per bucket
+     * @return numElements divided by the number of buckets
+     */
+    public double getLoadFactor() {
+        return (double) numElements / getNumBuckets();
+    }
+    
+    /**
+     * returns the length of the longest chain,
+     * the worst case number of keys one lookup compares
+     * @return the largest countBucket over all buckets
+     */
+    public int getMaxChainLength() {
+        finishRehash();
+        int max = 0;
+        for (List<Entry> list : Table) {
+        	max = Math.max(max, list.getLength());
+        }
+        return max;
+    }
+    
+    /**
+     * returns the average length of the non-empty chains,
+     * the number of keys a lookup of a missing key
+     * compares when its bucket is not empty
+     * @return the mean length, or 0 for an empty Table
+     */
+    public double getMeanChainLength() {
+        finishRehash();
+        int used = 0;
+        for (List<Entry> list : Table) {
+        	if (!list.isEmpty()) {
+        		used++;
+        	}
+        }
+        return used == 0 ? 0 : (double) numElements / used;
+    }
+    
+    /**
+     * returns a histogram of how many keys a successful
+     * lookup compares: entry p counts the elements that
+     * are found on the p-th comparison in their bucket
+     * @return the histogram, of length getMaxChainLength() + 1
+     */
+    public int[] getProbeHistogram() {
+        int[] histogram = new int[getMaxChainLength() + 1];
+        for (List<Entry> list : Table) {
+        	for (int p = 1; p <= list.getLength(); p++) {
+        		histogram[p]++;
+        	}
+        }
+        return histogram;
+    }
+    
     /**
      * Accesses a specified key in the Table
      * 
@@ -85,19 +200,17 @@ public class HashTable<T> {
         if (key == null) {
         	throw new NullPointerException("get: Cannot hash a null value");
         }
-    	int bucket = hash(key);
-        List<T> list = Table.get(bucket);
-    	int index = list.linearSearch(t, c);
-    	if (index != -1) {
-    		list.iteratorToIndex(index);
-            return list.getIterator();
-    	} else {
-    		return null;
-    	}
+        rehashStep();
+        int h = Hashing.mix(key);
+        Entry entry = find(bucket(h), h, key, t, c);
+        if (entry == null) {
+        	entry = find(oldBucket(h), h, key, t, c);
+        }
+        return entry == null ? null : entry.value;
     }
     
     /**
-     * Gets the list at the given key in the hash table
+     * Gets the values inserted under the given key in the hash table
      * 
      * @param key the String to hash to a bucket in the table
      * @return List of elements at the given key
@@ -108,9 +221,12 @@ public class HashTable<T> {
 		if (key == null) {
 			throw new NullPointerException("get: Cannot hash a null value");
 		}
-		int bucket = hash(key);
-		List<T> list = Table.get(bucket);
-		return list.getLength() > 0 ? list : null;
+		rehashStep();
+		int h = Hashing.mix(key);
+		List<T> result = new List<>();
+		collect(bucket(h), h, key, null, null, result);
+		collect(oldBucket(h), h, key, null, null, result);
+		return result.getLength() > 0 ? result : null;
 	}
     
     /**
@@ -128,16 +244,11 @@ public class HashTable<T> {
     	if (key == null) {
     		throw new NullPointerException("getAll: Cannot hash a null value");
     	}
-    	int bucket = hash(key);
-        List<T> list = Table.get(bucket),
-        		result = new List<>();
-    	list.placeIterator();
-        while (!list.offEnd()) {
-        	if (c.compare(t, list.getIterator()) == 0) {
-        		result.addLast(list.getIterator());
-        	}
-        	list.advanceIterator();
-    	}
+    	rehashStep();
+    	int h = Hashing.mix(key);
+    	List<T> result = new List<>();
+    	collect(bucket(h), h, key, t, c, result);
+    	collect(oldBucket(h), h, key, t, c, result);
         return result.getLength() > 0 ? result : null;
     }
     
@@ -155,12 +266,76 @@ public class HashTable<T> {
     	if (key == null) {
         	throw new NullPointerException("contains: cannot hash null value");
         }
-    	int bucket = hash(key);
-        List<T> list = Table.get(bucket);
-    	int index = list.linearSearch(t, c);
-    	return index != -1;
+    	return get(key, t, c) != null;
+    }
+    
+    /**
+     * Returns the bucket of Table to which a hash code is mapped
+     * @param hash the mixed hash code of a key
+     * @return the bucket for the key
+     */
+    private List<Entry> bucket(int hash) {
+    	return Table.get(index(hash, Table));
+    }
+    
+    /**
+     * Returns the bucket of oldTable to which a hash code is mapped
+     * while a resize is in progress
+     * @param hash the mixed hash code of a key
+     * @return the old bucket for the key, or null when it has already
+     * been moved or no resize is in progress
+     */
+    private List<Entry> oldBucket(int hash) {
+    	if (oldTable == null) {
+    		return null;
+    	}
+    	int index = index(hash, oldTable);
+    	return index < rehashIndex ? null : oldTable.get(index);
     }
     
+    /**
+     * Finds the first entry under key whose value matches t
+     * Cached hashes are compared first, so most
+     * non-matching keys are skipped without equals
+     * @param bucket the bucket to search, or null
+     * @param h the mixed hash code of key
+     * @param key the key the value was inserted under
+     * @param t the value to find
+     * @param c Comparator object to use for comparisons
+     * @return the matching entry or null if there is none
+     */
+    private Entry find(List<Entry> bucket, int h, String key, T t, Comparator<T> c) {
+    	if (bucket == null) {
+    		return null;
+    	}
+    	for (Entry entry : bucket) {
+    		if (entry.hash == h && entry.key.equals(key) && c.compare(t, entry.value) == 0) {
+    			return entry;
+    		}
+    	}
+    	return null;
+    }
+    
+    /**
+     * Adds every value under key that matches t to result,
+     * or every value under key when c is null
+     * @param bucket the bucket to search, or null
+     * @param h the mixed hash code of key
+     * @param key the key the values were inserted under
+     * @param t the value to match
+     * @param c Comparator object to use for comparisons, or null
+     * @param result the List to add matches to
+     */
+    private void collect(List<Entry> bucket, int h, String key, T t, Comparator<T> c, List<T> result) {
+    	if (bucket == null) {
+    		return;
+    	}
+    	for (Entry entry : bucket) {
+    		if (entry.hash == h && entry.key.equals(key) && (c == null || c.compare(t, entry.value) == 0)) {
+    			result.addLast(entry.value);
+    		}
+    	}
+    }
      
     /**Mutators*/
     
@@ -168,6 +343,7 @@ public class HashTable<T> {
      * Inserts a new element in the Table
      * at the end of the chain in the bucket
      * to which the key is mapped
+     * Starts growing the Table when it gets too full
      * @param key the String to hash to a bucket in the table
      * @param t the value to insert
      * @precondition t != null
@@ -177,9 +353,12 @@ public class HashTable<T> {
     	if (key == null) {
         	throw new NullPointerException("put: cannot hash null value");
         }
-    	int bucket = hash(key);
-        List<T> list = Table.get(bucket);
-    	list.addLast(t);
+    	if (numElements + 1 > MAX_LOAD_FACTOR * Table.size()) {
+    		startRehash();
+    	}
+    	rehashStep();
+    	int h = Hashing.mix(key);
+    	bucket(h).addLast(new Entry(key, h, t));
     	numElements++;
     }
      
@@ -198,25 +377,94 @@ public class HashTable<T> {
     	if (key == null) {
         	throw new NullPointerException("remove: cannot hash null value");
         }
-    	int bucket = hash(key);
-        List<T> list = Table.get(bucket);
-        int index = list.linearSearch(t, c);
-        if (index != -1) {
-        	list.iteratorToIndex(index);
-        	list.removeIterator();
-        	numElements--;
-        }
+    	rehashStep();
+    	int h = Hashing.mix(key);
+    	if (!remove(bucket(h), h, key, t, c)) {
+    		remove(oldBucket(h), h, key, t, c);
+    	}
+    }
+    
+    /**
+     * Removes the first entry under key whose value matches t
+     * @param bucket the bucket to remove from, or null
+     * @return whether an entry was removed
+     */
+    private boolean remove(List<Entry> bucket, int h, String key, T t, Comparator<T> c) {
+    	if (bucket == null) {
+    		return false;
+    	}
+    	Iterator<Entry> cursor = bucket.iterator();
+    	while (cursor.hasNext()) {
+    		Entry entry = cursor.next();
+    		if (entry.hash == h && entry.key.equals(key) && c.compare(t, entry.value) == 0) {
+    			cursor.remove();
+    			numElements--;
+    			return true;
+    		}
+    	}
+    	return false;
     }
     
     /**
      * Clears this hash table so that it contains no keys.
      */
     public void clear() {
-        int size = Table.size();
-    	Table.clear();
+    	Table = newTable(Table.size());
+    	oldTable = null;
+    	rehashIndex = 0;
+    	numElements = 0;
+    }
+    
+    /**
+     * Starts moving every entry into a Table twice as large
+     * The move is spread over the following operations,
+     * a few buckets at a time, so no single call pays for all of it
+     */
+    private void startRehash() {
+    	finishRehash(); // only one resize can be in progress
+    	oldTable = Table;
+    	Table = newTable(2 * oldTable.size());
+    	rehashIndex = 0;
+    	resizeCount++;
+    }
+    
+    /**
+     * Moves the next few buckets of oldTable into Table
+     */
+    private void rehashStep() {
+    	for (int i = 0; i < REHASH_STEPS && oldTable != null; i++) {
+    		List<Entry> bucket = oldTable.get(rehashIndex);
+    		for (Entry entry : bucket) {
+    			bucket(entry.hash).addLast(entry);
+    		}
+    		oldTable.set(rehashIndex, null);
+    		rehashIndex++;
+    		if (rehashIndex == oldTable.size()) {
+    			oldTable = null;
+    		}
+    	}
+    }
+    
+    /**
+     * Moves all remaining buckets of oldTable into Table
+     */
+    private void finishRehash() {
+    	while (oldTable != null) {
+    		rehashStep();
+    	}
+    }
+    
+    /**
+     * Creates a table of empty buckets
+     * @param size the number of buckets
+     * @return the new table
+     */
+    private ArrayList<List<Entry> > newTable(int size) {
+    	ArrayList<List<Entry> > table = new ArrayList<>(size);
     	for (int i = 0; i < size; i++) {
-    		Table.add(new List<T>());
+    		table.add(new List<Entry>());
     	}
+    	return table;
     }
 
     /**Additional Methods*/
@@ -232,6 +480,7 @@ public class HashTable<T> {
      * @param bucket the index in the Table
      */
     public void printBucket(int bucket) {
+        finishRehash();
         System.out.println("Printing bucket #" + bucket + ":");
         System.out.println(Table.get(bucket).toString());
     }
@@ -246,7 +495,8 @@ public class HashTable<T> {
      * is empty." followed by two blank lines
      */
     public void printTable(){
-         for (List<T> list : Table) {
+         finishRehash();
+         for (List<Entry> list : Table) {
         	 if (list.isEmpty()) {
         		 System.out.println("This bucket is empty.\n");
         	 } else {
@@ -256,14 +506,31 @@ public class HashTable<T> {
          }
      }
     
+    /**
+     * Prints the size, load factor, chain lengths,
+     * resize count and probe histogram of the Table
+     * so that collision hot spots can be spotted
+     */
+    public void printStatistics() {
+        int[] histogram = getProbeHistogram();
+        System.out.println("Elements: " + numElements + ", buckets: " + getNumBuckets()
+        		+ ", resizes: " + resizeCount);
+        System.out.printf("Load factor: %.2f, mean chain: %.2f, max chain: %d%n",
+        		getLoadFactor(), getMeanChainLength(), histogram.length - 1);
+        for (int p = 1; p < histogram.length; p++) {
+        	System.out.println(p + " probe(s): " + histogram[p]);
+        }
+    }
+    
     /**
      * Starting at the first bucket, and continuing
      * in order until the last bucket, concatenates
      * all elements at all buckets into one String
      */
     @Override public String toString() {
+        finishRehash();
         StringBuilder sb = new StringBuilder();
-        for (List<T> list : Table) {
+        for (List<Entry> list : Table) {
         	sb.append(list.toString());
         }
     	return sb.toString();
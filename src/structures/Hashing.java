@@ -0,0 +1,39 @@
+package structures;
+
+/**
+ * Hashing.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * Hash functions shared by the hash tables in this package
+ * Every table has a power of two number of buckets and picks a
+ * bucket by masking the low bits of the hash, so the hash must
+ * spread every input bit into those low bits
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * returns the hash code of a key passed through
+     * the MurmurHash3 finalizer, so that keys which
+     * differ in any bit land in unrelated buckets
+     * @param key the string to hash
+     * @return the mixed hash code
+     */
+    static int mix(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
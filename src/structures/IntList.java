@@ -0,0 +1,316 @@
+package structures;
+
+/**
+ * IntList.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * A growable list of primitive ints stored in one contiguous array
+ * Capacity doubles when full, so addLast runs in amortized constant time
+ */
+public class IntList {
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private int[] data;
+    private int length;
+
+    /**
+     * **CONSTRUCTORS***
+     */
+    /**
+     * Instantiates a new, empty IntList with default capacity
+     *
+     * @postcondition new list created
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new, empty IntList able to hold capacity values before
+     * growing
+     *
+     * @param capacity the initial capacity
+     * @precondition capacity >= 0
+     * @throws IllegalArgumentException when precondition is violated
+     */
+    public IntList(int capacity) throws IllegalArgumentException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("IntList(): capacity cannot be negative.");
+        }
+        data = new int[capacity];
+        length = 0;
+    }
+
+    /**
+     * **ACCESSORS***
+     */
+    /**
+     * Returns the value stored at the specified index
+     *
+     * @param i the index, from 0 to length - 1
+     * @precondition 0 <= i < length
+     * @return the value at index i
+     * @throws IndexOutOfBoundsException when precondition is violated
+     */
+    public int get(int i) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("get(): index is out of bounds.");
+        }
+        return data[i];
+    }
+
+    /**
+     * Returns the value stored at the end of the list
+     *
+     * @precondition length != 0
+     * @return the last value
+     * @throws NoSuchElementException when precondition is violated
+     */
+    public int getLast() throws NoSuchElementException {
+        if (length == 0) {
+            throw new NoSuchElementException("getLast(): List is empty.");
+        }
+        return data[length - 1];
+    }
+
+    /**
+     * Returns the current length of the list
+     *
+     * @return the number of values stored
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns whether the list is currently empty
+     *
+     * @return whether the list is empty
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a value
+     *
+     * @param value the value to search for
+     * @return the index of value or -1 to indicate not found
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the list contains a value
+     *
+     * @param value the value to search for
+     * @return whether value is in the list
+     */
+    public boolean contains(int value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Searches a list sorted in increasing order for a value in O(log n)
+     *
+     * @param value the value to search for
+     * @precondition the list is sorted in increasing order
+     * @return the index of value, or -(insertion point) - 1 when it is not
+     * in the list, where the insertion point is the index of the first
+     * larger value, as in Arrays.binarySearch
+     */
+    public int binarySearch(int value) {
+        return Arrays.binarySearch(data, 0, length, value);
+    }
+
+    /**
+     * Returns a copy of the values as an array of exactly length elements
+     *
+     * @return the values in order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, length);
+    }
+
+    /**
+     * Copies the values into an array starting at a given position
+     *
+     * @param dest the array to copy into
+     * @param destPos the position in dest of the first value
+     * @throws IndexOutOfBoundsException when dest is too small
+     */
+    public void copyInto(int[] dest, int destPos) throws IndexOutOfBoundsException {
+        System.arraycopy(data, 0, dest, destPos, length);
+    }
+
+    /**
+     * Passes every value to an action, in order, without copying
+     * the list or boxing the values
+     *
+     * @param action the action to run on each value
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < length; i++) {
+            action.accept(data[i]);
+        }
+    }
+
+    /**
+     * **MUTATORS***
+     */
+    /**
+     * Appends a value to the end of the list, doubling the capacity when full
+     *
+     * @param value the value to append
+     * @postcondition a new last element
+     */
+    public void addLast(int value) {
+        if (length == data.length) {
+            data = Arrays.copyOf(data, Math.max(DEFAULT_CAPACITY, 2 * length));
+        }
+        data[length++] = value;
+    }
+
+    /**
+     * Appends every value of another list, in order
+     *
+     * @param other the list whose values to append
+     * @postcondition other's values follow the current last value
+     */
+    public void addAll(IntList other) {
+        if (length + other.length > data.length) {
+            data = Arrays.copyOf(data, Math.max(length + other.length, 2 * length));
+        }
+        System.arraycopy(other.data, 0, data, length, other.length);
+        length += other.length;
+    }
+
+    /**
+     * Inserts a value at an index, shifting the values after it back by one
+     *
+     * @param i the index of the new value, from 0 to length
+     * @param value the value to insert
+     * @precondition 0 <= i <= length
+     * @throws IndexOutOfBoundsException when precondition is violated
+     */
+    public void insert(int i, int value) throws IndexOutOfBoundsException {
+        if (i < 0 || i > length) {
+            throw new IndexOutOfBoundsException("insert(): index is out of bounds.");
+        }
+        if (length == data.length) {
+            data = Arrays.copyOf(data, Math.max(DEFAULT_CAPACITY, 2 * length));
+        }
+        System.arraycopy(data, i, data, i + 1, length - i);
+        data[i] = value;
+        length++;
+    }
+
+    /**
+     * Removes the value at an index, shifting the values after it forward
+     * by one
+     *
+     * @param i the index of the value to remove
+     * @precondition 0 <= i < length
+     * @throws IndexOutOfBoundsException when precondition is violated
+     */
+    public void removeAt(int i) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("removeAt(): index is out of bounds.");
+        }
+        System.arraycopy(data, i + 1, data, i, length - i - 1);
+        length--;
+    }
+
+    /**
+     * Removes the value at the end of the list
+     *
+     * @precondition length != 0
+     * @throws NoSuchElementException when precondition is violated
+     */
+    public void removeLast() throws NoSuchElementException {
+        if (length == 0) {
+            throw new NoSuchElementException("removeLast(): List is empty.");
+        }
+        length--;
+    }
+
+    /**
+     * Removes every occurrence of a value, keeping the remaining values in
+     * order
+     *
+     * @param value the value to remove
+     * @return the number of values removed
+     */
+    public int removeAll(int value) {
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (data[i] != value) {
+                data[kept++] = data[i];
+            }
+        }
+        int removed = length - kept;
+        length = kept;
+        return removed;
+    }
+
+    /**
+     * Reverses the order of the values in place
+     *
+     * @postcondition the first value is now last and the last first
+     */
+    public void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int temp = data[i];
+            data[i] = data[j];
+            data[j] = temp;
+        }
+    }
+
+    /**
+     * Removes all values but keeps the allocated capacity
+     *
+     * @postcondition length == 0
+     */
+    public void clear() {
+        length = 0;
+    }
+
+    /**
+     * **ADDITIONAL OPERATIONS***
+     */
+    /**
+     * List with each value separated by a space
+     *
+     * @return the list as a String for display
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                result.append(' ');
+            }
+            result.append(data[i]);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * IntQueue.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * An ArrayQueue of primitive ints, so values are never boxed
+ * Enqueue and dequeue are a single array access each, which makes
+ * it suitable as the frontier of a breadth first search
+ */
+public class IntQueue {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int[] data; // length is always a power of two
+	private int front;  // index of the front element
+	private int length;
+
+	/**** CONSTRUCTORS ****/
+
+	/**
+	 * Instantiates a new, empty IntQueue with default capacity
+	 *
+	 * @postcondition creates a new instance of an IntQueue
+	 */
+	public IntQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Instantiates a new, empty IntQueue able to hold capacity values before
+	 * growing
+	 *
+	 * @param capacity the initial capacity
+	 * @precondition capacity >= 0
+	 * @throws IllegalArgumentException when precondition is violated
+	 */
+	public IntQueue(int capacity) throws IllegalArgumentException {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("IntQueue(): capacity cannot be negative");
+		}
+		data = new int[Capacity.powerOfTwoAtLeast(capacity)];
+		front = 0;
+		length = 0;
+	}
+
+	/**** ACCESSORS ****/
+
+	/**
+	 * Returns the value stored at the front of the IntQueue
+	 *
+	 * @precondition !isEmpty()
+	 * @return the value stored at the front of the IntQueue
+	 * @throws NoSuchElementException when precondition is violated
+	 */
+	public int getFront() throws NoSuchElementException {
+		if (isEmpty()) {
+			throw new NoSuchElementException("getFront: Queue is Empty. No data to access!");
+		}
+		return data[front];
+	}
+
+	/**
+	 * Returns the current length of the IntQueue
+	 *
+	 * @return the length of the IntQueue
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns whether the IntQueue is currently empty
+	 *
+	 * @return whether the IntQueue is empty
+	 */
+	public boolean isEmpty() {
+		return (length == 0);
+	}
+
+	/**** MUTATORS ****/
+
+	/**
+	 * Stores a new end value, doubling the array when it is full
+	 *
+	 * @param value the value to insert at the end of the IntQueue
+	 * @postcondition a new end value
+	 */
+	public void enqueue(int value) {
+		if (length == data.length) {
+			grow();
+		}
+		data[(front + length) & (data.length - 1)] = value;
+		length++;
+	}
+
+	/**
+	 * removes the value at the front of the IntQueue
+	 *
+	 * @precondition !isEmpty()
+	 * @postcondition front value is removed from the front of the IntQueue
+	 * @throws NoSuchElementException when precondition is violated
+	 */
+	public void dequeue() throws NoSuchElementException {
+		if (isEmpty()) {
+			throw new NoSuchElementException("dequeue(): Cannot remove from an empty queue!");
+		}
+		front = (front + 1) & (data.length - 1);
+		length--;
+	}
+
+	/**
+	 * Removes every value but keeps the allocated capacity
+	 *
+	 * @postcondition isEmpty()
+	 */
+	public void clear() {
+		front = 0;
+		length = 0;
+	}
+
+	/**
+	 * Doubles the array, unwrapping its contents to start at index 0
+	 */
+	private void grow() {
+		int[] larger = new int[Math.max(1, 2 * data.length)];
+		for (int i = 0; i < length; i++) {
+			larger[i] = data[(front + i) & (data.length - 1)];
+		}
+		data = larger;
+		front = 0;
+	}
+
+	/**** ADDITIONAL OPERATIONS ****/
+
+	/**
+	 * IntQueue with each value separated by spaces At the end of the IntQueue a
+	 * new line
+	 *
+	 * @return the IntQueue as a String for display
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			result.append(data[(front + i) & (data.length - 1)]).append(" ");
+		}
+		return (result.append("\n").toString());
+	}
+}
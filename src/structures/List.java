@@ -11,10 +11,16 @@ package structures;
  * CIS 22C, Final Project
  */
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class List<T> {
+public class List<T> implements Iterable<T> {
 
     private class Node {
 
@@ -29,10 +35,125 @@ public class List<T> {
         }
     }
 
+    /**
+     * An independent cursor over the list. Any number of cursors can read the
+     * same list at once without touching the list's own iterator
+     */
+    private class Cursor implements Iterator<T> {
+
+        private Node next;
+        private Node lastReturned;
+        private int nextIndex; // position of next
+
+        public Cursor() {
+            this.next = first;
+            this.lastReturned = null;
+            this.nextIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() throws NoSuchElementException {
+            if (next == null) {
+                throw new NoSuchElementException("next(): Cursor is off end of the list.");
+            }
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        /**
+         * Removes the element last returned by next()
+         *
+         * @precondition next() has been called since the last remove()
+         * @throws IllegalStateException when precondition is violated
+         */
+        @Override
+        public void remove() throws IllegalStateException {
+            if (lastReturned == null) {
+                throw new IllegalStateException("remove(): No element to remove.");
+            }
+            unlink(lastReturned, --nextIndex);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Splits the list by position using the node index, so parallel streams
+     * can divide the work without walking the nodes
+     */
+    private class NodeSpliterator implements Spliterator<T> {
+
+        private final Node[] nodes;
+        private int lo;
+        private final int hi;
+        private final int expectedLength;
+
+        public NodeSpliterator(Node[] nodes, int lo, int hi, int expectedLength) {
+            this.nodes = nodes;
+            this.lo = lo;
+            this.hi = hi;
+            this.expectedLength = expectedLength;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (lo >= hi) {
+                return false;
+            }
+            action.accept(nodes[lo++].data);
+            checkLength();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; lo < hi; lo++) {
+                action.accept(nodes[lo].data);
+            }
+            checkLength();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (lo + hi) >>> 1;
+            if (mid <= lo) {
+                return null;
+            }
+            Spliterator<T> prefix = new NodeSpliterator(nodes, lo, mid, expectedLength);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return hi - lo;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
+        private void checkLength() throws ConcurrentModificationException {
+            if (length != expectedLength) {
+                throw new ConcurrentModificationException("List was modified during traversal.");
+            }
+        }
+    }
+
     private int length;
     private Node first;
     private Node last;
     private Node iterator;
+    private int iteratorIndex; // position of iterator, when it is not null
+    private volatile Node[] index; // random access index into the nodes, null until first needed
+    private int indexBase; // index[indexBase + i] is the node at position i
 
     /**
      * **CONSTRUCTOR***
@@ -47,7 +168,8 @@ public class List<T> {
         last = null;
         length = 0;
         iterator = null;
-
+        index = null;
+        indexBase = 0;
     }
 
     /**
@@ -107,6 +229,23 @@ public class List<T> {
         return last.data;
     }
 
+    /**
+     * Returns the value stored at the specified index without moving the
+     * iterator
+     *
+     * @param i the index of the value, from 0 to length - 1
+     * @precondition 0 <= i < length
+     * @return the value stored at index i
+     * @throws IndexOutOfBoundsException when precondition is violated
+     */
+    public T get(int i) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("get(): index is out of bounds.");
+        }
+        Node[] nodes = nodeIndex();
+        return nodes[indexBase + i].data;
+    }
+
     /**
      * Returns whether the list is currently empty
      *
@@ -201,6 +340,8 @@ public class List<T> {
             first.prev = N;
             first = N;
         }
+        indexInsert(0, first);
+        iteratorIndex++;
         length++;
     }
 
@@ -220,6 +361,7 @@ public class List<T> {
             last = N;
             N.prev = temp;
         }
+        indexInsert(length, last);
         length++;
     }
 
@@ -242,6 +384,8 @@ public class List<T> {
             first = first.next;
             first.prev = null;
         }
+        indexRemove(0);
+        iteratorIndex--;
         length--;
     }
 
@@ -266,6 +410,7 @@ public class List<T> {
             last = temp;
             //last.next = null;
         }
+        indexRemove(length - 1);
         length--;
     }
 
@@ -276,6 +421,7 @@ public class List<T> {
      */
     public void placeIterator() {
         iterator = first;
+        iteratorIndex = 0;
     }
 
     /**
@@ -296,6 +442,7 @@ public class List<T> {
             iterator.next.prev = iterator.prev;
             iterator.prev.next = iterator.next;
             iterator = null;
+            indexRemove(iteratorIndex);
             length--;
         }
     }
@@ -318,6 +465,7 @@ public class List<T> {
             n.prev = iterator;
             iterator.next.prev = n;
             iterator.next = n;
+            indexInsert(iteratorIndex + 1, n);
             length++;
         }
     }
@@ -333,6 +481,7 @@ public class List<T> {
             throw new NullPointerException("advanceIterator(): Iterator is null and cannot advance.");
         }
         iterator = iterator.next;
+        iteratorIndex++;
     }
 
     /**
@@ -346,6 +495,7 @@ public class List<T> {
             throw new NullPointerException("advanceIterator(): Iterator is null and cannot reverse.");
         }
         iterator = iterator.prev;
+        iteratorIndex--;
     }
 
     /**
@@ -374,35 +524,126 @@ public class List<T> {
      * @postcondition prints the list in numbered format
      */
     public void printNumberedList() {
-        placeIterator();
+        Node temp = first;
         int i = 1;
-        while (!offEnd()) {
-            System.out.println(i + ": " + iterator.data.toString() + "\n");
+        while (temp != null) {
+            System.out.println(i + ": " + temp.data.toString() + "\n");
             i++;
-            advanceIterator();
+            temp = temp.next;
         }
     }
 
     /**
-     * Points the iterator at first and then advances it to the specified index
+     * Points the iterator at the node at the specified index
+     * Runs in constant time once the node index has been built
      *
-     * @param index the index where the iterator should be placed
-     * @precondition 0 < index <= length
-    * @t
-     * hrows IndexOutOfBoundsException when precondition is violated
+     * @param i the index where the iterator should be placed
+     * @precondition 0 <= i < length
+     * @throws IndexOutOfBoundsException when precondition is violated
      */
-    public void iteratorToIndex(int index) throws IndexOutOfBoundsException {
-        if (index < 0 || index >= length) {
+    public void iteratorToIndex(int i) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= length) {
             throw new IndexOutOfBoundsException("iteratorToIndex(): index is out of bounds.");
         }
-        placeIterator();
-        int count = 0;
-        while (count < index) {
-            advanceIterator();
-            count++;
+        Node[] nodes = nodeIndex();
+        iterator = nodes[indexBase + i];
+        iteratorIndex = i;
+    }
+
+    /**
+     * Returns the array mapping each position to its node, building it in
+     * one pass the first time it is needed. Afterwards every mutation
+     * patches it in place, so it is never rebuilt
+     * The array is filled before it is published, so readers racing to
+     * build it, such as parallel streams, never see a partial index
+     *
+     * @return the node index, valid from indexBase to indexBase + length - 1
+     */
+    private Node[] nodeIndex() {
+        Node[] nodes = index;
+        if (nodes == null) {
+            Node[] built = newIndex(Math.max(length, 8));
+            Node temp = first;
+            for (int i = 0; temp != null; i++) {
+                built[i] = temp;
+                temp = temp.next;
+            }
+            indexBase = 0;
+            index = nodes = built;
+        }
+        return nodes;
+    }
+
+    /**
+     * Records a new node at position pos of the index, if it has been built
+     * Whichever side of pos is shorter moves over by one slot, so adding at
+     * either end takes amortized constant time and adding in the middle
+     * moves at most length / 2 references, without walking any nodes
+     * Called before length is incremented
+     *
+     * @param pos the position of the new node, from 0 to length
+     * @param n the new node
+     */
+    private void indexInsert(int pos, Node n) {
+        Node[] nodes = index;
+        if (nodes == null) {
+            return;
+        }
+        int base = indexBase;
+        boolean left = pos < length - pos;
+        if (left ? base == 0 : base + length == nodes.length) {
+            // no room on that side, so regrow with room on both sides
+            Node[] grown = newIndex(2 * length + 8);
+            int grownBase = (grown.length - length) / 2;
+            System.arraycopy(nodes, base, grown, grownBase, length);
+            nodes = grown;
+            base = grownBase;
+        }
+        if (left) {
+            System.arraycopy(nodes, base, nodes, base - 1, pos);
+            base--;
+        } else {
+            System.arraycopy(nodes, base + pos, nodes, base + pos + 1, length - pos);
+        }
+        nodes[base + pos] = n;
+        indexBase = base;
+        index = nodes;
+    }
+
+    /**
+     * Drops the node at position pos from the index, if it has been built,
+     * moving whichever side of pos is shorter over by one slot
+     * Called before length is decremented
+     *
+     * @param pos the position of the removed node, from 0 to length - 1
+     */
+    private void indexRemove(int pos) {
+        Node[] nodes = index;
+        if (nodes == null) {
+            return;
+        }
+        int base = indexBase;
+        if (pos < length - 1 - pos) {
+            System.arraycopy(nodes, base, nodes, base + 1, pos);
+            nodes[base] = null;
+            indexBase = base + 1;
+        } else {
+            System.arraycopy(nodes, base + pos + 1, nodes, base + pos, length - 1 - pos);
+            nodes[base + length - 1] = null;
         }
     }
 
+    /**
+     * Allocates an empty node index
+     *
+     * @param capacity the number of slots
+     * @return the new array
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node[] newIndex(int capacity) {
+        return (Node[]) new List.Node[capacity];
+    }
+
     /**
      * Searches the List for the specified value using the linear search
      * algorithm
@@ -413,16 +654,83 @@ public class List<T> {
      * found post: position of the iterator remains unchanged
      */
     public int linearSearch(T value, Comparator<T> c) {
-        int index = 0;
-        placeIterator();
-        while (index <= length - 1) {
-            if (c.compare(iterator.data, value) == 0) {
-                return index;
+        int i = 0;
+        Node temp = first;
+        while (temp != null) {
+            if (c.compare(temp.data, value) == 0) {
+                return i;
             }
-            index++;
-            advanceIterator();
+            i++;
+            temp = temp.next;
         }
         return -1;
     }
 
+    /**
+     * Returns a new cursor positioned before the first element. Cursors are
+     * independent of each other and of placeIterator/advanceIterator
+     *
+     * @return a cursor over the list from first to last
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns a spliterator that splits the list by position
+     * The list must not be modified while the spliterator is in use
+     *
+     * @return an ordered, sized spliterator over the list
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        Node[] nodes = nodeIndex();
+        return new NodeSpliterator(nodes, indexBase, indexBase + length, length);
+    }
+
+    /**
+     * Returns a sequential Stream over the list
+     *
+     * @return a Stream of the elements from first to last
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel Stream over the list without copying it
+     * The list must not be modified while the stream is in use
+     *
+     * @return a possibly parallel Stream of the elements
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Unlinks a node from anywhere in the list
+     * If the shared iterator points at the node it is set to null
+     *
+     * @param n the node to remove
+     * @param pos the position of n
+     */
+    private void unlink(Node n, int pos) {
+        if (n == first) {
+            removeFirst();
+        } else if (n == last) {
+            removeLast();
+        } else {
+            n.prev.next = n.next;
+            n.next.prev = n.prev;
+            if (iterator == n) {
+                iterator = null;
+            } else if (pos < iteratorIndex) {
+                iteratorIndex--;
+            }
+            indexRemove(pos);
+            length--;
+        }
+    }
+
 }
@@ -0,0 +1,693 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * OpenHashTable.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ *
+ * A hash table with the same operations as HashTable that stores
+ * its entries in three parallel arrays instead of a List per bucket.
+ * Collisions are resolved by linear probing, so every lookup is one
+ * scan over neighbouring slots, and removals shift later entries back
+ * instead of leaving tombstones
+ *
+ * Every slot also records when its value was put, so that get(key)
+ * returns the first value inserted under key and getList(key) lists
+ * the values in insertion order, as HashTable does, even after probing,
+ * resizing and backward shifts have moved entries around
+ *
+ * Since every slot stores its key, values can also be looked up by key
+ * alone with get(key), which compares keys directly and allocates nothing.
+ * A table created with a key extractor can also add and remove values
+ * without the caller spelling out the key
+ *
+ * Like HashTable, the table grows incrementally: each operation moves a
+ * few old slots into the new arrays. Moving starts at an empty slot and
+ * a step always finishes the cluster it is in, so every cluster of the
+ * old arrays is either still whole or already gone and lookups of the
+ * old arrays stay correct while the move is in progress
+ */
+public class OpenHashTable<T> {
+
+    private static final int DEFAULT_SIZE = 16;
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    private static final int REHASH_STEPS = 2; // old slots moved per operation while resizing
+
+    /**
+     * Four parallel arrays of slots: the key, its cached
+     * hash, the value and its insertion sequence number
+     */
+    private class Slots {
+        private final String[] keys; // null marks an empty slot
+        private final int[] hashes;  // cached hash of keys[i]
+        private final Object[] values;
+        private final long[] seqs;   // when values[i] was put, lower is older
+        private final int mask;
+
+        /**
+         * Allocates empty parallel arrays
+         * @param capacity the number of slots, a power of two
+         */
+        private Slots(int capacity) {
+            keys = new String[capacity];
+            hashes = new int[capacity];
+            values = new Object[capacity];
+            seqs = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * returns the slot at which the probe
+         * sequence for a hash code starts
+         * @param hash the mixed hash code
+         * @return the index in the arrays
+         */
+        private int home(int hash) {
+        	return hash & mask;
+        }
+
+        /**
+         * returns the number of slots a successful lookup
+         * of the value in a slot reads, from its home slot
+         * up to and including the slot itself
+         * @param slot an occupied slot
+         * @return the probe length of the slot
+         */
+        private int probeLength(int slot) {
+        	return ((slot - home(hashes[slot])) & mask) + 1;
+        }
+
+        /**
+         * Walks the probe sequence for key and returns the oldest
+         * slot whose key equals key and whose value matches t,
+         * or whose key equals key when c is null
+         * Slot order is not insertion order, so the walk goes on
+         * to the end of the cluster. Cached hashes are compared
+         * first, so most non-matching keys are skipped without equals
+         * @return the slot or -1 if there is none
+         */
+        private int find(String key, int h, T t, Comparator<T> c) {
+        	int found = -1;
+        	for (int i = home(h); keys[i] != null; i = (i + 1) & mask) {
+        		if (hashes[i] == h && (found == -1 || seqs[i] < seqs[found])
+        				&& keys[i].equals(key) && (c == null || c.compare(t, valueAt(i)) == 0)) {
+        			found = i;
+        		}
+        	}
+        	return found;
+        }
+
+        /**
+         * Walks the probe sequence for key and adds every value
+         * under key that matches t, or every value when c is null,
+         * to result
+         */
+        private void collect(String key, int h, T t, Comparator<T> c, Matches result) {
+        	for (int i = home(h); keys[i] != null; i = (i + 1) & mask) {
+        		if (hashes[i] == h && keys[i].equals(key) && (c == null || c.compare(t, valueAt(i)) == 0)) {
+        			result.add(seqs[i], values[i]);
+        		}
+        	}
+        }
+
+        /**
+         * returns the value stored in a slot
+         * @param slot an occupied slot
+         * @return the value at slot
+         */
+        @SuppressWarnings("unchecked")
+        private T valueAt(int slot) {
+        	return (T) values[slot];
+        }
+
+        /**
+         * Stores an entry in the first empty slot of its probe sequence
+         */
+        private void insert(String key, int h, Object t, long seq) {
+        	int i = home(h);
+        	while (keys[i] != null) {
+        		i = (i + 1) & mask;
+        	}
+        	keys[i] = key;
+        	hashes[i] = h;
+        	values[i] = t;
+        	seqs[i] = seq;
+        }
+
+        /**
+         * Empties a slot, then shifts back any later entry of the same
+         * cluster whose probe sequence passes over the emptied slot,
+         * so that no lookup stops early at the gap
+         * @param slot the occupied slot to empty
+         */
+        private void removeSlot(int slot) {
+        	int gap = slot;
+        	for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+        		// entry i may fill the gap if the gap lies between its home and i
+        		if (((i - home(hashes[i])) & mask) >= ((i - gap) & mask)) {
+        			keys[gap] = keys[i];
+        			hashes[gap] = hashes[i];
+        			values[gap] = values[i];
+        			seqs[gap] = seqs[i];
+        			gap = i;
+        		}
+        	}
+        	keys[gap] = null;
+        	values[gap] = null;
+        }
+    }
+
+    /**
+     * The values found by one getList or getAll call,
+     * with their insertion sequence numbers
+     */
+    private static class Matches {
+        private long[] seqs = new long[4];
+        private Object[] values = new Object[4];
+        private int size = 0;
+
+        /**
+         * Adds a value found in some slot
+         * @param seq the sequence number of the slot
+         * @param value the value of the slot
+         */
+        private void add(long seq, Object value) {
+        	if (size == seqs.length) {
+        		seqs = Arrays.copyOf(seqs, 2 * size);
+        		values = Arrays.copyOf(values, 2 * size);
+        	}
+        	seqs[size] = seq;
+        	values[size] = value;
+        	size++;
+        }
+
+        /**
+         * Returns the values in the order they were put
+         * Sequence numbers are unique, so each value's place
+         * is found by binary search in the sorted numbers
+         * @return a List of the values, or null if there are none
+         */
+        @SuppressWarnings("unchecked")
+        private <T> List<T> inOrder() {
+        	if (size == 0) {
+        		return null;
+        	}
+        	long[] sorted = Arrays.copyOf(seqs, size);
+        	Arrays.sort(sorted);
+        	Object[] ordered = new Object[size];
+        	for (int i = 0; i < size; i++) {
+        		ordered[Arrays.binarySearch(sorted, seqs[i])] = values[i];
+        	}
+        	List<T> result = new List<>();
+        	for (Object value : ordered) {
+        		result.addLast((T) value);
+        	}
+        	return result;
+        }
+    }
+
+    private int numElements;
+    private Slots table;
+    private Slots oldTable;   // slots still to move while resizing, or null
+    private int rehashIndex;  // next slot of oldTable to move
+    private int rehashLeft;   // slots of oldTable not yet visited
+    private int resizeCount;  // number of times the table has grown
+    private long nextSeq;     // sequence number of the next put
+    private final Function<T, String> keyOf; // extracts the key of a value, or null
+
+    /**
+     * Constructor for the hash
+     * table. Initializes the table to
+     * a default size
+     */
+    public OpenHashTable() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Constructor for the hash
+     * table. Sizes the table so that
+     * expected elements fit without growing
+     * The table doubles by itself once it
+     * is more than half full
+     * @param expected the number of elements expected
+     */
+    public OpenHashTable(int expected) {
+        this(expected, null);
+    }
+
+    /**
+     * Constructor for the hash
+     * table. Sizes the table so that
+     * expected elements fit without growing
+     * and keys every value with keyOf, which
+     * enables put(T) and remove(T)
+     * @param expected the number of elements expected
+     * @param keyOf the function extracting the key of a value
+     */
+    public OpenHashTable(int expected, Function<T, String> keyOf) {
+        table = new Slots(capacityFor(expected));
+        oldTable = null;
+        rehashIndex = 0;
+        rehashLeft = 0;
+        numElements = 0;
+        resizeCount = 0;
+        nextSeq = 0;
+        this.keyOf = keyOf;
+    }
+
+    /**Accessors*/
+
+    /**
+     * returns the number of slots in the table
+     * @return the number of slots
+     */
+    public int getNumBuckets() {
+        finishRehash();
+        return table.keys.length;
+    }
+
+    /**
+     * returns total number of keys in the table
+     * @return total number of keys
+     */
+    public int getNumElements() {
+        return numElements;
+    }
+
+    /**
+     * returns how many times the table has grown
+     * @return the number of resizes
+     */
+    public int getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * returns the fraction of slots in use
+     * @return numElements divided by the number of slots
+     */
+    public double getLoadFactor() {
+        return (double) numElements / getNumBuckets();
+    }
+
+    /**
+     * returns the longest probe sequence of any element,
+     * the worst case number of slots one lookup reads
+     * @return the maximum probe length, or 0 for an empty table
+     */
+    public int getMaxProbeLength() {
+        finishRehash();
+        int max = 0;
+        for (int i = 0; i < table.keys.length; i++) {
+        	if (table.keys[i] != null) {
+        		max = Math.max(max, table.probeLength(i));
+        	}
+        }
+        return max;
+    }
+
+    /**
+     * returns the average number of slots
+     * a successful lookup reads
+     * @return the mean probe length, or 0 for an empty table
+     */
+    public double getMeanProbeLength() {
+        finishRehash();
+        long total = 0;
+        for (int i = 0; i < table.keys.length; i++) {
+        	if (table.keys[i] != null) {
+        		total += table.probeLength(i);
+        	}
+        }
+        return numElements == 0 ? 0 : (double) total / numElements;
+    }
+
+    /**
+     * returns a histogram of probe lengths: entry p
+     * counts the elements found on the p-th slot read
+     * @return the histogram, of length getMaxProbeLength() + 1
+     */
+    public int[] getProbeHistogram() {
+        int[] histogram = new int[getMaxProbeLength() + 1];
+        for (int i = 0; i < table.keys.length; i++) {
+        	if (table.keys[i] != null) {
+        		histogram[table.probeLength(i)]++;
+        	}
+        }
+        return histogram;
+    }
+
+    /**
+     * Accesses a specified key in the table
+     *
+     * @param key the String to hash to a slot in the table
+     * @param t the value to find
+     * @param c Comparator object to use for comparisons
+     * @return the value mapped at the specified key,
+     * or null if the value does not exist in this table
+     * @precondition key != null
+	 * @throws NullPointerException if the precondition is violated
+	 */
+    public T get(String key, T t, Comparator<T> c) throws NullPointerException {
+        if (key == null) {
+        	throw new NullPointerException("get: Cannot hash a null value");
+        }
+        return find(key, t, c);
+    }
+
+    /**
+     * Accesses the first value inserted under a key
+     * Keys are compared directly, so no probe
+     * value or Comparator is needed
+     *
+     * @param key the String to hash to a slot in the table
+     * @return the first value inserted under key,
+     * or null if this table contains no mapping for the key
+     * @throws NullPointerException if key == null
+     */
+    public T get(String key) throws NullPointerException {
+        if (key == null) {
+        	throw new NullPointerException("get: Cannot hash a null value");
+        }
+        return find(key, null, null);
+    }
+
+    /**
+     * Determines whether any value is
+     * stored under a key
+     *
+     * @param key the String to hash to a slot in the table
+     * @return whether the key is in the table
+     * @throws NullPointerException if key == null
+     */
+    public boolean contains(String key) throws NullPointerException {
+        if (key == null) {
+        	throw new NullPointerException("contains: cannot hash null value");
+        }
+        return find(key, null, null) != null;
+    }
+
+    /**
+     * Gets the values inserted under the given key
+     *
+     * @param key the String to hash to a slot in the table
+     * @return List of elements at the given key
+     * or null if this table contains no mapping for the key
+     * @throws NullPointerException if key == null
+     */
+    public List<T> getList(String key) throws NullPointerException {
+		if (key == null) {
+			throw new NullPointerException("getList: Cannot hash a null value");
+		}
+		return collect(key, null, null);
+	}
+
+    /**
+     * Returns a List of all elements that match the search value
+     *
+     * @param key the String to hash to a slot in the table
+     * @param t the value to find
+     * @param c Comparator object to use for comparisons
+     * @return a list of elements to which the given search value matches
+     * where the key is mapped, or null if this table contains no mapping for the key.
+     * @precondition key != null
+     * @throws NullPointerException if the precondition is violated
+     */
+    public List<T> getAll(String key, T t, Comparator<T> c) throws NullPointerException {
+    	if (key == null) {
+    		throw new NullPointerException("getAll: Cannot hash a null value");
+    	}
+    	return collect(key, t, c);
+    }
+
+    /**
+     * Determines whether a specified key is in
+     * the table
+     *
+     * @param key the String to hash to a slot in the table
+     * @param t the value to check
+     * @param c Comparator object to use for comparisons
+     * @return  whether the key is in the table
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean contains(String key, T t, Comparator<T> c) throws NullPointerException {
+    	if (key == null) {
+        	throw new NullPointerException("contains: cannot hash null value");
+        }
+    	return find(key, t, c) != null;
+    }
+
+    /**
+     * Finds the first inserted value under key that matches t,
+     * or the first inserted value under key when c is null
+     * While resizing, moved values share the new slots with
+     * later puts, so both tables are searched and the older
+     * match wins
+     * @param key the key the value was inserted under
+     * @param t the value to find
+     * @param c Comparator object to use for comparisons, or null
+     * @return the value or null if there is none
+     */
+    private T find(String key, T t, Comparator<T> c) {
+    	rehashStep();
+    	int h = Hashing.mix(key);
+    	int slot = table.find(key, h, t, c);
+    	if (oldTable != null) {
+    		int oldSlot = oldTable.find(key, h, t, c);
+    		if (oldSlot != -1 && (slot == -1 || oldTable.seqs[oldSlot] < table.seqs[slot])) {
+    			return oldTable.valueAt(oldSlot);
+    		}
+    	}
+    	return slot == -1 ? null : table.valueAt(slot);
+    }
+
+    /**
+     * Collects every value under key that matches t,
+     * or every value when c is null, in insertion order
+     * @return the matches, or null if there are none
+     */
+    private List<T> collect(String key, T t, Comparator<T> c) {
+    	rehashStep();
+    	Matches result = new Matches();
+    	int h = Hashing.mix(key);
+    	if (oldTable != null) {
+    		oldTable.collect(key, h, t, c, result);
+    	}
+    	table.collect(key, h, t, c, result);
+    	return result.inOrder();
+    }
+
+    /**Mutators*/
+
+    /**
+     * Inserts a new element in the first empty
+     * slot of the probe sequence for its key
+     * Starts growing the table when it gets too full
+     * @param key the String to hash to a slot in the table
+     * @param t the value to insert
+     * @throws NullPointerException for a null key
+     */
+    public void put(String key, T t) throws NullPointerException {
+    	if (key == null) {
+        	throw new NullPointerException("put: cannot hash null value");
+        }
+    	if (numElements + 1 > MAX_LOAD_FACTOR * table.keys.length) {
+    		startRehash();
+    	}
+    	rehashStep();
+    	table.insert(key, Hashing.mix(key), t, nextSeq++);
+    	numElements++;
+    }
+
+    /**
+     * Inserts a new element under the key
+     * given by the table's key extractor
+     * @param t the value to insert
+     * @precondition the table was created with a key extractor
+     * @throws IllegalStateException when the precondition is violated
+     */
+    public void put(T t) throws IllegalStateException {
+    	if (keyOf == null) {
+    		throw new IllegalStateException("put: table has no key extractor");
+    	}
+    	put(keyOf.apply(t), t);
+    }
+
+    /**
+     * removes the value t, found by its key and
+     * by identity, from the table
+     * has no effect if t is not in the table
+     * @param t the value to remove
+     * @precondition the table was created with a key extractor
+     * @throws IllegalStateException when the precondition is violated
+     */
+    public void remove(T t) throws IllegalStateException {
+    	if (keyOf == null) {
+    		throw new IllegalStateException("remove: table has no key extractor");
+    	}
+    	remove(keyOf.apply(t), t, (a, b) -> a == b ? 0 : 1);
+    }
+
+    /**
+     * removes the first inserted value under
+     * key that matches t from the table
+     * has no effect if t is not in
+     * the table
+     * @param key the String to hash to a slot in the table
+     * @param t the value to remove
+     * @param c Comparator object to use for comparisons
+     * @throws NullPointerException if the key is null
+     */
+    public void remove(String key, T t, Comparator<T> c) throws NullPointerException {
+    	if (key == null) {
+        	throw new NullPointerException("remove: cannot hash null value");
+        }
+    	rehashStep();
+    	int h = Hashing.mix(key);
+    	int slot = table.find(key, h, t, c);
+    	if (oldTable != null) {
+    		int oldSlot = oldTable.find(key, h, t, c);
+    		if (oldSlot != -1 && (slot == -1 || oldTable.seqs[oldSlot] < table.seqs[slot])) {
+    			oldTable.removeSlot(oldSlot);
+    			numElements--;
+    			return;
+    		}
+    	}
+    	if (slot != -1) {
+    		table.removeSlot(slot);
+    		numElements--;
+    	}
+    }
+
+    /**
+     * Clears this hash table so that it contains no keys.
+     */
+    public void clear() {
+    	Arrays.fill(table.keys, null);
+    	Arrays.fill(table.values, null);
+    	oldTable = null;
+    	rehashIndex = 0;
+    	rehashLeft = 0;
+    	numElements = 0;
+    }
+
+    /**
+     * Starts moving every entry into a table twice as large
+     * The move is spread over the following operations,
+     * a few slots at a time, so no single call pays for all of it
+     */
+    private void startRehash() {
+    	finishRehash(); // only one resize can be in progress
+    	oldTable = table;
+    	table = new Slots(2 * oldTable.keys.length);
+    	rehashIndex = 0;
+    	while (oldTable.keys[rehashIndex] != null) { // at most half full, so a gap is near
+    		rehashIndex++;
+    	}
+    	rehashLeft = oldTable.keys.length;
+    	resizeCount++;
+    }
+
+    /**
+     * Moves the next few slots of oldTable into table, going on
+     * to the end of the cluster the last of them belongs to
+     */
+    private void rehashStep() {
+    	for (int moved = 0; oldTable != null
+    			&& (moved < REHASH_STEPS || oldTable.keys[rehashIndex] != null); moved++) {
+    		int i = rehashIndex;
+    		if (oldTable.keys[i] != null) {
+    			table.insert(oldTable.keys[i], oldTable.hashes[i], oldTable.values[i], oldTable.seqs[i]);
+    			oldTable.keys[i] = null;
+    			oldTable.values[i] = null;
+    		}
+    		rehashIndex = (i + 1) & oldTable.mask;
+    		if (--rehashLeft == 0) {
+    			oldTable = null;
+    		}
+    	}
+    }
+
+    /**
+     * Moves all remaining slots of oldTable into table
+     */
+    private void finishRehash() {
+    	while (oldTable != null) {
+    		rehashStep();
+    	}
+    }
+
+    /**
+     * Returns the smallest power of two with room for
+     * expected elements at the maximum load factor
+     * @param expected the number of elements expected
+     * @return the number of slots to allocate
+     */
+    private static int capacityFor(int expected) {
+    	int capacity = 2;
+    	while (MAX_LOAD_FACTOR * capacity < expected) {
+    		capacity <<= 1;
+    	}
+    	return capacity;
+    }
+
+    /**Additional Methods*/
+
+    /**
+     * Prints every slot of the table on its own line,
+     * or "This slot is empty." for empty slots
+     */
+    public void printTable(){
+         finishRehash();
+         for (int i = 0; i < table.keys.length; i++) {
+        	 if (table.keys[i] == null) {
+        		 System.out.println("This slot is empty.\n");
+        	 } else {
+        		 System.out.println(table.values[i] + "\n");
+        	 }
+         }
+     }
+
+    /**
+     * Prints the size, load factor, probe lengths,
+     * resize count and probe histogram of the table
+     * so that collision hot spots can be spotted
+     */
+    public void printStatistics() {
+        int[] histogram = getProbeHistogram();
+        System.out.println("Elements: " + numElements + ", slots: " + getNumBuckets()
+        		+ ", resizes: " + resizeCount);
+        System.out.printf("Load factor: %.2f, mean probes: %.2f, max probes: %d%n",
+        		getLoadFactor(), getMeanProbeLength(), histogram.length - 1);
+        for (int p = 1; p < histogram.length; p++) {
+        	System.out.println(p + " probe(s): " + histogram[p]);
+        }
+    }
+
+    /**
+     * Starting at the first slot, and continuing
+     * in order until the last slot, concatenates
+     * all elements into one String
+     */
+    @Override public String toString() {
+        finishRehash();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < table.keys.length; i++) {
+        	if (table.keys[i] != null) {
+        		sb.append(table.values[i]).append("\n\n");
+        	}
+        }
+    	return sb.toString();
+    }
+
+}
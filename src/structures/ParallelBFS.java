@@ -0,0 +1,287 @@
+package structures;
+
+/**
+ * ParallelBFS.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A breadth first search of a CSRGraph that expands each level on all
+ * cores of a ForkJoinPool, for batch analytics over the whole network
+ *
+ * Each level is expanded in one of two directions (Beamer, Asanovic and
+ * Patterson, "Direction-Optimizing Breadth-First Search"). Top-down, every
+ * frontier vertex claims its unvisited neighbors. Bottom-up, every
+ * unvisited vertex looks for a parent in the frontier and stops at the
+ * first one, which saves most edge checks once the frontier covers a large
+ * part of the graph. The search switches to bottom-up when the frontier's
+ * edges outnumber the unvisited vertices' edges divided by ALPHA, and back
+ * to top-down when the frontier shrinks below the vertices divided by BETA
+ *
+ * Distances and parents live in shared atomic arrays. A vertex is claimed
+ * with a compare and set on its distance, and its parent is the smallest
+ * vertex of the previous level with an edge to it, the same rule Graph.BFS
+ * follows, so both searches give exactly the same distances and parents
+ */
+public class ParallelBFS {
+
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int GRAIN = 512; // vertices handled by one task without splitting
+
+    private final CSRGraph graph;
+    private final CSRGraph reverse;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructors
+     */
+    /**
+     * Prepares parallel searches of a snapshot on the common ForkJoinPool
+     *
+     * @param graph the snapshot to search
+     */
+    public ParallelBFS(CSRGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Prepares parallel searches of a snapshot on a given pool
+     *
+     * @param graph the snapshot to search
+     * @param pool the pool whose threads run the search
+     */
+    public ParallelBFS(CSRGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.reverse = graph.reverse(); // bottom-up steps scan incoming edges
+        this.pool = pool;
+    }
+
+    /**
+     * * Additional Operations **
+     */
+
+    /**
+     * Performs breath first search from a source vertex into a caller-owned
+     * result, with the same distances and parents as Graph.BFS. Vertices of
+     * the same level may be listed by getReached in a different order
+     *
+     * @param source the vertex to search from
+     * @param result the result to reuse, or null to allocate a new one
+     * @precondition snapshot must not be empty
+     * @precondition source is a vertex in the graph
+     * @return the result holding distances and parents from source
+     * @throws IllegalStateException if the snapshot is empty
+     * @throws IndexOutOfBoundsException when the source vertex is not a vertex
+     * in the graph
+     */
+    public BFSResult BFS(int source, BFSResult result) throws IllegalStateException, IndexOutOfBoundsException {
+        int n = graph.getNumVertices();
+        if (graph.isEmpty()) {
+            throw new IllegalStateException("BFS: graph cannot be empty");
+        } else if (!(source > 0 && source <= n)) {
+            throw new IndexOutOfBoundsException("BFS: source is not in graph");
+        }
+        Search search = new Search(source - 1);
+        search.run();
+        if (result == null) {
+            result = new BFSResult();
+        }
+        // copy the shared arrays into the result, level by level
+        result.reset(n, source - 1);
+        result.clearQueue();
+        for (int d = 1; d < search.levels.size(); d++) {
+            int[] level = search.levels.get(d);
+            for (int v : level) {
+                result.record(v, n - search.parent.get(v), d);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The vertices one task claimed for the next level, with the edge
+     * counts the direction heuristic needs
+     */
+    private static class Chunk {
+        private final IntList vertices = new IntList();
+        private long outEdges; // edges leaving the claimed vertices
+        private long inEdges;  // edges entering the claimed vertices
+
+        /**
+         * Adds another task's claims to this one
+         */
+        private Chunk merge(Chunk other) {
+            vertices.addAll(other.vertices);
+            outEdges += other.outEdges;
+            inEdges += other.inEdges;
+            return this;
+        }
+    }
+
+    /**
+     * The shared state of one search
+     * dist holds distance + 1, so 0 marks an unvisited vertex without a fill,
+     * and parent holds n - parent, so 0 marks no parent and the largest code
+     * belongs to the smallest parent
+     */
+    private class Search {
+        private final int n;
+        private final AtomicIntegerArray dist;
+        private final AtomicIntegerArray parent;
+        private final ArrayList<int[]> levels = new ArrayList<>();
+        private int[] frontier;
+        private int depth; // distance of the frontier
+
+        private Search(int s) {
+            n = graph.getNumVertices();
+            dist = new AtomicIntegerArray(n);
+            parent = new AtomicIntegerArray(n);
+            dist.set(s, 1);
+            frontier = new int[] { s };
+            depth = 0;
+        }
+
+        /**
+         * Expands one level at a time until no new vertex is found
+         */
+        private void run() {
+            int[] out = graph.offsets(), in = reverse.offsets();
+            long frontierEdges = out[frontier[0] + 1] - out[frontier[0]];
+            long unvisitedEdges = graph.getNumEdges() - (in[frontier[0] + 1] - in[frontier[0]]);
+            boolean bottomUp = false;
+            int previous = 0;
+            while (frontier.length > 0) {
+                levels.add(frontier);
+                if (!bottomUp && frontier.length > previous && frontierEdges > unvisitedEdges / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontier.length < previous && frontier.length < n / BETA) {
+                    bottomUp = false;
+                }
+                Chunk next = bottomUp
+                        ? pool.invoke(new BottomUp(0, n))
+                        : pool.invoke(new TopDown(0, frontier.length));
+                previous = frontier.length;
+                frontier = next.vertices.toArray();
+                frontierEdges = next.outEdges;
+                unvisitedEdges -= next.inEdges;
+                depth++;
+            }
+        }
+
+        /**
+         * Claims vertex y for the next level, counting its edges into chunk
+         * when this call made the claim
+         */
+        private void claim(int y, int code, Chunk chunk) {
+            int next = depth + 2; // stored distance of the next level
+            int d = dist.get(y);
+            if (d == 0 && dist.compareAndSet(y, 0, next)) {
+                chunk.vertices.addLast(y);
+                int[] out = graph.offsets(), in = reverse.offsets();
+                chunk.outEdges += out[y + 1] - out[y];
+                chunk.inEdges += in[y + 1] - in[y];
+                d = next;
+            } else if (d == 0) {
+                d = dist.get(y); // another task claimed it first
+            }
+            if (d == next) {
+                // keep the smallest parent, whichever task claimed y
+                int current;
+                while ((current = parent.get(y)) < code && !parent.compareAndSet(y, current, code)) {
+                }
+            }
+        }
+
+        /**
+         * Expands frontier[lo, hi) along outgoing edges
+         */
+        @SuppressWarnings("serial") // tasks are never serialized
+        private class TopDown extends RecursiveTask<Chunk> {
+            private final int lo, hi;
+
+            private TopDown(int lo, int hi) {
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected Chunk compute() {
+                if (hi - lo > GRAIN) {
+                    int mid = (lo + hi) >>> 1;
+                    TopDown left = new TopDown(lo, mid);
+                    left.fork();
+                    Chunk right = new TopDown(mid, hi).compute();
+                    return left.join().merge(right);
+                }
+                Chunk chunk = new Chunk();
+                int[] offsets = graph.offsets(), targets = graph.targets();
+                for (int i = lo; i < hi; i++) {
+                    int x = frontier[i];
+                    for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                        claim(targets[e], n - x, chunk);
+                    }
+                }
+                return chunk;
+            }
+        }
+
+        /**
+         * Looks for a parent in the frontier for every unvisited vertex of
+         * [lo, hi). Incoming edges are sorted, so the first parent found is
+         * the smallest
+         */
+        @SuppressWarnings("serial") // tasks are never serialized
+        private class BottomUp extends RecursiveTask<Chunk> {
+            private final int lo, hi;
+
+            private BottomUp(int lo, int hi) {
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected Chunk compute() {
+                if (hi - lo > 8 * GRAIN) {
+                    int mid = (lo + hi) >>> 1;
+                    BottomUp left = new BottomUp(lo, mid);
+                    left.fork();
+                    Chunk right = new BottomUp(mid, hi).compute();
+                    return left.join().merge(right);
+                }
+                Chunk chunk = new Chunk();
+                int[] out = graph.offsets(), offsets = reverse.offsets(), sources = reverse.targets();
+                int current = depth + 1, next = depth + 2; // stored distances
+                for (int v = lo; v < hi; v++) {
+                    if (dist.get(v) != 0) {
+                        continue;
+                    }
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int u = sources[e];
+                        if (dist.get(u) == current) {
+                            // only this task writes v, so no compare and set is needed
+                            dist.set(v, next);
+                            parent.set(v, n - u);
+                            chunk.vertices.addLast(v);
+                            chunk.outEdges += out[v + 1] - out[v];
+                            chunk.inEdges += offsets[v + 1] - offsets[v];
+                            break;
+                        }
+                    }
+                }
+                return chunk;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package structures;
+
+/**
+ * PostingIndex.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.function.IntConsumer;
+
+/**
+ * A multimap from String keys to int ids, such as first names to user ids
+ * Each key owns one posting array holding its ids in insertion order, so
+ * all matches for a key sit in one contiguous block. Matches are streamed
+ * to a visitor with forEach, which allocates nothing per match
+ */
+public class PostingIndex {
+
+    private final OpenHashTable<IntList> postings;
+    private int numPostings;
+
+    /**
+     * **CONSTRUCTORS***
+     */
+    /**
+     * Instantiates an empty index with room for expected keys before growing
+     *
+     * @param expected the number of distinct keys expected
+     */
+    public PostingIndex(int expected) {
+        postings = new OpenHashTable<>(expected);
+        numPostings = 0;
+    }
+
+    /**
+     * **ACCESSORS***
+     */
+    /**
+     * Returns the number of distinct keys in the index
+     *
+     * @return the number of keys
+     */
+    public int getNumKeys() {
+        return postings.getNumElements();
+    }
+
+    /**
+     * Returns the number of ids in the index, over all keys
+     *
+     * @return the number of postings
+     */
+    public int getNumPostings() {
+        return numPostings;
+    }
+
+    /**
+     * Returns how many ids are stored under a key
+     *
+     * @param key the key to look up
+     * @return the number of ids under key, or 0 when there are none
+     * @throws NullPointerException if key == null
+     */
+    public int count(String key) throws NullPointerException {
+        IntList ids = postings.get(key);
+        return ids == null ? 0 : ids.getLength();
+    }
+
+    /**
+     * Returns whether any id is stored under a key
+     *
+     * @param key the key to look up
+     * @return whether key is in the index
+     * @throws NullPointerException if key == null
+     */
+    public boolean containsKey(String key) throws NullPointerException {
+        return count(key) > 0;
+    }
+
+    /**
+     * Passes every id stored under a key to an action, in insertion order
+     * The action must not add or remove ids under the same key
+     *
+     * @param key the key to look up
+     * @param action the action to run on each id
+     * @throws NullPointerException if key == null
+     */
+    public void forEach(String key, IntConsumer action) throws NullPointerException {
+        IntList ids = postings.get(key);
+        if (ids != null) {
+            ids.forEach(action);
+        }
+    }
+
+    /**
+     * **MUTATORS***
+     */
+    /**
+     * Adds an id to the end of the posting array of a key
+     *
+     * @param key the key to file the id under
+     * @param id the id to add
+     * @throws NullPointerException if key == null
+     */
+    public void add(String key, int id) throws NullPointerException {
+        IntList ids = postings.get(key);
+        if (ids == null) {
+            ids = new IntList();
+            postings.put(key, ids);
+        }
+        ids.addLast(id);
+        numPostings++;
+    }
+
+    /**
+     * Removes an id from the posting array of a key, keeping the other
+     * ids in order. Has no effect if the id is not under the key
+     *
+     * @param key the key the id was filed under
+     * @param id the id to remove
+     * @return whether the id was removed
+     * @throws NullPointerException if key == null
+     */
+    public boolean remove(String key, int id) throws NullPointerException {
+        IntList ids = postings.get(key);
+        if (ids == null) {
+            return false;
+        }
+        int removed = ids.removeAll(id);
+        numPostings -= removed;
+        if (ids.isEmpty()) {
+            postings.remove(key, ids, (a, b) -> a == b ? 0 : 1);
+        }
+        return removed > 0;
+    }
+
+    /**
+     * Removes every key and id from the index
+     */
+    public void clear() {
+        postings.clear();
+        numPostings = 0;
+    }
+}
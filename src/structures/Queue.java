@@ -26,6 +26,8 @@ public class Queue<T extends Comparable<T>> {
 	private int length;
 	private Node front;
 	private Node end;
+	private int descents;   // number of neighbours with the earlier one greater
+	private Object[] index; // data from front to end for binarySearch, or null when stale
 
 	/**** CONSTRUCTOR ****/
 
@@ -38,6 +40,8 @@ public class Queue<T extends Comparable<T>> {
 		front = null;
 		end = null;
 		length = 0;
+		descents = 0;
+		index = null;
 	}
 
 	/**
@@ -99,33 +103,15 @@ public class Queue<T extends Comparable<T>> {
 	}
 
 	/**
-	 * Determines whether data is sorted in ascending order by calling its recursive
-	 * helper method isSorted() Note: when length == 0 data is (trivially) sorted
+	 * Determines whether data is sorted in ascending order
+	 * enqueue and dequeue keep count of the neighbouring pairs that are out of
+	 * order, so this takes constant time Note: when length == 0 data is
+	 * (trivially) sorted
 	 * 
 	 * @return whether the data is sorted
 	 */
 	public boolean isSorted() {
-		if (isEmpty()) {
-			return true;
-		} else {
-			return isSorted(front);
-		}
-	}
-
-	/**
-	 * Helper method to isSorted Recursively determines whether data is sorted
-	 * 
-	 * @param node the current node
-	 * @return whether the data is sorted
-	 */
-	private boolean isSorted(Node node) {
-		if (node.next == null) {
-			return true;
-		} else if (node.data.compareTo(node.next.data) > 0) {
-			return false;
-		} else {
-			return isSorted(node.next);
-		}
+		return descents == 0;
 	}
 
 	/**
@@ -155,6 +141,8 @@ public class Queue<T extends Comparable<T>> {
 	/**
 	 * Returns the location from 1 to length where value is located by calling the
 	 * private helper method binarySearch
+	 * The first search after the Queue changes copies the data into an array,
+	 * which later searches reuse, so each search takes O(log n) comparisons
 	 * 
 	 * @param value the value to search for
 	 * @return the location where value is stored from 1 to length, or -1 to
@@ -168,10 +156,25 @@ public class Queue<T extends Comparable<T>> {
 		} else if (isEmpty()) {
 			return -1;
 		} else {
+			if (index == null) {
+				buildIndex();
+			}
 			return binarySearch(0, length - 1, value);
 		}
 	}
 
+	/**
+	 * Copies the data from front to end into the index array
+	 */
+	private void buildIndex() {
+		index = new Object[length];
+		Node temp = front;
+		for (int i = 0; i < length; i++) {
+			index[i] = temp.data;
+			temp = temp.next;
+		}
+	}
+
 	/**
 	 * Searches for the specified value in by implementing the recursive
 	 * binarySearch algorithm
@@ -182,18 +185,16 @@ public class Queue<T extends Comparable<T>> {
 	 * @return the location at which value is located from 1 to length or -1 to
 	 *         indicate not found
 	 */
+	@SuppressWarnings("unchecked")
 	private int binarySearch(int low, int high, T value) {
 		if (low > high) {
 			return -1;
 		}
 		int mid = low + (high - low) / 2;
-		Node iterator = front;
-		for (int i = 0; i < mid; i++) {
-			iterator = iterator.next;
-		}
-		if (iterator.data.compareTo(value) == 0) {
+		int compare = ((T) index[mid]).compareTo(value);
+		if (compare == 0) {
 			return mid + 1;
-		} else if (iterator.data.compareTo(value) < 0) {
+		} else if (compare < 0) {
 			low = mid + 1;
 		} else {
 			high = mid - 1;
@@ -214,10 +215,14 @@ public class Queue<T extends Comparable<T>> {
 		if (front == null) {
 			front = end = node;
 		} else {
+			if (end.data.compareTo(data) > 0) {
+				descents++;
+			}
 			end.next = node;
 			end = node;
 		}
 		length++;
+		index = null;
 	}
 
 	/**
@@ -233,9 +238,13 @@ public class Queue<T extends Comparable<T>> {
 		} else if (length == 1) {
 			front = end = null;
 		} else {
+			if (front.data.compareTo(front.next.data) > 0) {
+				descents--;
+			}
 			front = front.next;
 		}
 		length--;
+		index = null;
 	}
 
 	/**** ADDITIONAL OPERATIONS ****/
@@ -0,0 +1,248 @@
+package structures;
+
+/**
+ * TopK.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.Arrays;
+
+/**
+ * Keeps the k highest scoring of all the values offered to it
+ * The values kept form a binary min-heap on their scores, so the weakest
+ * kept value sits at the root and each offer costs O(log k), or O(1) when
+ * the value cannot beat the root. Choosing the best k of n values takes
+ * O(n log k) time and O(k) space
+ *
+ * Scores are primitive longs computed once by the caller. Equal scores
+ * are ranked by the order the values were offered in, earlier first
+ */
+public class TopK<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int k;
+    private long[] scores; // heap ordered by (score, -sequence)
+    private long[] seqs;   // seqs[i] is the offer number of values[i]
+    private Object[] values;
+    private int size;
+    private long offered;
+
+    /**
+     * **CONSTRUCTORS***
+     */
+    /**
+     * Instantiates an empty TopK that keeps at most k values
+     *
+     * @param k the number of values to keep
+     * @precondition k > 0
+     * @throws IllegalArgumentException when the precondition is violated
+     */
+    public TopK(int k) throws IllegalArgumentException {
+        if (k <= 0) {
+            throw new IllegalArgumentException("TopK(): k must be positive");
+        }
+        this.k = k;
+        int capacity = Math.min(k, DEFAULT_CAPACITY); // grows up to k as values arrive
+        scores = new long[capacity];
+        seqs = new long[capacity];
+        values = new Object[capacity];
+        size = 0;
+        offered = 0;
+    }
+
+    /**
+     * **ACCESSORS***
+     */
+    /**
+     * Returns the largest number of values kept
+     *
+     * @return k
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Returns the number of values currently kept
+     *
+     * @return min(k, number of values offered)
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns whether no value has been kept
+     *
+     * @return whether the TopK is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the lowest score kept. Once k values are kept, a new value
+     * must score above it to get in
+     *
+     * @precondition !isEmpty()
+     * @return the lowest kept score
+     * @throws IllegalStateException when the precondition is violated
+     */
+    public long getMinScore() throws IllegalStateException {
+        if (size == 0) {
+            throw new IllegalStateException("getMinScore: TopK is empty");
+        }
+        return scores[0];
+    }
+
+    /**
+     * Returns the kept values from highest to lowest score, leaving the
+     * TopK unchanged
+     *
+     * @return a new List of at most k values, best first
+     */
+    public List<T> toList() {
+        TopK<T> copy = new TopK<>(k);
+        copy.scores = Arrays.copyOf(scores, size);
+        copy.seqs = Arrays.copyOf(seqs, size);
+        copy.values = Arrays.copyOf(values, size);
+        copy.size = size;
+        Object[] ranked = new Object[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ranked[i] = copy.values[0];
+            copy.removeRoot();
+        }
+        List<T> result = new List<>();
+        for (Object value : ranked) {
+            result.addLast(valueOf(value));
+        }
+        return result;
+    }
+
+    /**
+     * **MUTATORS***
+     */
+    /**
+     * Offers a value with its score, keeping it if it ranks among the k best
+     * seen so far
+     *
+     * @param value the value to offer
+     * @param score the value's score, higher is better
+     * @return whether the value was kept
+     */
+    public boolean offer(T value, long score) {
+        long seq = offered++;
+        if (size < k) {
+            if (size == values.length) {
+                int capacity = (int) Math.min(k, 2L * size);
+                scores = Arrays.copyOf(scores, capacity);
+                seqs = Arrays.copyOf(seqs, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            set(size, score, seq, value);
+            siftUp(size++);
+            return true;
+        } else if (score > scores[0]) { // an equal score was offered later, so it loses
+            set(0, score, seq, value);
+            siftDown(0);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes every value
+     *
+     * @postcondition isEmpty()
+     */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        offered = 0;
+    }
+
+    /**
+     * Returns whether the entry at i ranks below the entry at j
+     */
+    private boolean worse(int i, int j) {
+        return scores[i] < scores[j] || (scores[i] == scores[j] && seqs[i] > seqs[j]);
+    }
+
+    /**
+     * Stores an entry at position i of the heap arrays
+     */
+    private void set(int i, long score, long seq, Object value) {
+        scores[i] = score;
+        seqs[i] = seq;
+        values[i] = value;
+    }
+
+    /**
+     * Swaps the entries at i and j
+     */
+    private void swap(int i, int j) {
+        long score = scores[i], seq = seqs[i];
+        Object value = values[i];
+        set(i, scores[j], seqs[j], values[j]);
+        set(j, score, seq, value);
+    }
+
+    /**
+     * Moves the entry at i up until its parent ranks below it
+     */
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    /**
+     * Moves the entry at i down until both children rank above it
+     */
+    private void siftDown(int i) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && worse(child + 1, child)) {
+                child++;
+            }
+            if (!worse(child, i)) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    /**
+     * Removes the weakest entry, at the root
+     */
+    private void removeRoot() {
+        size--;
+        set(0, scores[size], seqs[size], values[size]);
+        values[size] = null;
+        siftDown(0);
+    }
+
+    /**
+     * Casts a stored value back to T
+     */
+    @SuppressWarnings("unchecked")
+    private T valueOf(Object value) {
+        return (T) value;
+    }
+}
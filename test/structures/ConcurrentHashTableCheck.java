@@ -0,0 +1,183 @@
+package structures;
+
+/**
+ * ConcurrentHashTableCheck.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Checks ConcurrentHashTable in two parts, stopping with exit status 1 at
+ * the first difference
+ *
+ * First, one thread runs random puts, removes and lookups next to a
+ * HashMap of ArrayLists, comparing the values under each key in insertion
+ * order. Then several threads put, get, check and remove values at once,
+ * starting from a table of a few buckets so that every run goes through
+ * many cooperative resizes. Each thread only removes values it put, so it
+ * knows which of its values must still be found. Some values share one
+ * key, so threads also write the same bucket at once. At the end the
+ * table must hold exactly the values the threads kept
+ *
+ * Usage: java structures.ConcurrentHashTableCheck [threads]
+ */
+public class ConcurrentHashTableCheck {
+
+    private static final int SEQUENTIAL_ROUNDS = 100;
+    private static final int OPERATIONS = 3000;
+    private static final int CONCURRENT_ROUNDS = 20;
+    private static final int PUTS_PER_THREAD = 20000;
+    private static final String SHARED = "shared"; // the key every thread puts one value in 64 under
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        Random random = new Random(13);
+        for (int round = 0; round < SEQUENTIAL_ROUNDS; round++) {
+            sequential(random);
+        }
+        System.out.println("ConcurrentHashTable matched in " + SEQUENTIAL_ROUNDS * OPERATIONS
+                + " sequential operations");
+        for (int round = 0; round < CONCURRENT_ROUNDS; round++) {
+            concurrent(threads, 1 + random.nextInt(16));
+        }
+        System.out.println("ConcurrentHashTable kept every value in " + CONCURRENT_ROUNDS
+                + " runs of " + threads + " threads");
+    }
+
+    /**
+     * Runs random operations from one thread and compares every
+     * lookup with a HashMap of insertion-ordered ArrayLists
+     */
+    private static void sequential(Random random) {
+        ConcurrentHashTable<int[]> table = new ConcurrentHashTable<>(random.nextInt(4),
+                v -> "k" + v[0], 1 + random.nextInt(8));
+        HashMap<String, ArrayList<int[]>> expected = new HashMap<>();
+        int keys = 1 + random.nextInt(300);
+        int size = 0;
+        for (int op = 0; op < OPERATIONS; op++) {
+            int k = random.nextInt(keys);
+            String key = "k" + k;
+            ArrayList<int[]> values = expected.computeIfAbsent(key, x -> new ArrayList<>());
+            int choice = random.nextInt(10);
+            if (choice < 5) {
+                int[] value = {k, op};
+                table.put(value);
+                values.add(value);
+                size++;
+            } else if (choice < 7) {
+                if (!values.isEmpty()) {
+                    table.remove(values.remove(random.nextInt(values.size())));
+                    size--;
+                }
+            } else {
+                sameOrder(table, key, values);
+            }
+            if (table.getNumElements() != size) {
+                fail("holds " + table.getNumElements() + " values, expected " + size);
+            }
+        }
+    }
+
+    /**
+     * Exits with status 1 unless the values under key are
+     * the values of expected, in the same order
+     */
+    private static void sameOrder(ConcurrentHashTable<int[]> table, String key, ArrayList<int[]> expected) {
+        List<int[]> actual = table.getList(key);
+        int length = actual == null ? 0 : actual.getLength();
+        if (length != expected.size()) {
+            fail(key + ": getList returned " + length + " values, expected " + expected.size());
+        }
+        if (table.get(key) != (expected.isEmpty() ? null : expected.get(0))) {
+            fail(key + ": get did not return the first value inserted");
+        }
+        int i = 0;
+        if (actual != null) {
+            for (int[] value : actual) {
+                if (value != expected.get(i++)) {
+                    fail(key + ": getList returned value " + i + " out of insertion order");
+                }
+            }
+        }
+    }
+
+    /**
+     * Lets several threads put, look up and remove values in one table
+     * at once, then checks that it holds exactly the values they kept
+     */
+    private static void concurrent(int threads, int stripes) throws InterruptedException {
+        ConcurrentHashTable<int[]> table = new ConcurrentHashTable<>(0,
+                v -> v[1] == 0 ? SHARED : "k" + v[0], stripes);
+        int initialBuckets = table.getNumBuckets();
+        Thread[] workers = new Thread[threads];
+        int[] kept = new int[threads];
+        int[] keptShared = new int[threads];
+        for (int w = 0; w < threads; w++) {
+            int id = w;
+            workers[w] = new Thread(() -> {
+                Random random = new Random(id);
+                ArrayList<int[]> mine = new ArrayList<>();
+                for (int i = 0; i < PUTS_PER_THREAD; i++) {
+                    int[] value = {id * PUTS_PER_THREAD + i, random.nextInt(64)};
+                    table.put(value);
+                    mine.add(value);
+                    if (value[1] != 0 && table.get("k" + value[0]) != value) {
+                        fail("thread " + id + " lost the value it just put");
+                    }
+                    if (random.nextInt(3) == 0) {
+                        int[] removed = mine.remove(random.nextInt(mine.size()));
+                        table.remove(removed);
+                        if (removed[1] != 0 && table.contains("k" + removed[0])) {
+                            fail("thread " + id + " still finds a value it removed");
+                        }
+                    }
+                }
+                for (int[] value : mine) {
+                    String key = value[1] == 0 ? SHARED : "k" + value[0];
+                    if (!table.contains(key, value, (a, b) -> a == b ? 0 : 1)) {
+                        fail("thread " + id + " lost one of its values");
+                    }
+                    if (value[1] == 0) {
+                        keptShared[id]++;
+                    }
+                }
+                kept[id] = mine.size();
+            });
+            workers[w].start();
+        }
+        int total = 0, totalShared = 0;
+        for (int w = 0; w < threads; w++) {
+            workers[w].join();
+            total += kept[w];
+            totalShared += keptShared[w];
+        }
+        if (table.getNumElements() != total) {
+            fail("holds " + table.getNumElements() + " values, threads kept " + total);
+        }
+        List<int[]> shared = table.getList(SHARED);
+        if ((shared == null ? 0 : shared.getLength()) != totalShared) {
+            fail(SHARED + ": getList returned the wrong number of values");
+        }
+        if (table.getNumBuckets() <= initialBuckets) {
+            fail("table of " + total + " values never grew");
+        }
+        String[] printed = table.toString().split("\n\n");
+        if (total > 0 && printed.length != total) {
+            fail("toString printed " + printed.length + " values, expected " + total);
+        }
+    }
+
+    private static void fail(String message) {
+        System.out.println("MISMATCH in " + message);
+        System.exit(1);
+    }
+}
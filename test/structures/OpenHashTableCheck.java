@@ -0,0 +1,148 @@
+package structures;
+
+/**
+ * OpenHashTableCheck.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Runs random puts, removes and lookups on OpenHashTable next to a HashMap
+ * of ArrayLists kept in insertion order, stopping with exit status 1 at the
+ * first difference. Tables start small, so most runs go through several
+ * incremental resizes, and some use few keys, so probe clusters fill up
+ * with duplicates of one key
+ *
+ * Besides the values under each key, it checks their order: get returns
+ * the first value inserted, getList and getAll list values in insertion
+ * order and remove takes out the first inserted match
+ *
+ * Usage: java structures.OpenHashTableCheck
+ */
+public class OpenHashTableCheck {
+
+    private static final int ROUNDS = 300;
+    private static final int OPERATIONS = 2000;
+    private static final int TAGS = 4; // few tags, so getAll and remove see several matches
+
+    /** compares values {key, tag, id} by tag only */
+    private static final Comparator<int[]> BY_TAG = (a, b) -> Integer.compare(a[1], b[1]);
+
+    public static void main(String[] args) {
+        Random random = new Random(11);
+        long operations = 0;
+        int resizes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            OpenHashTable<int[]> table = new OpenHashTable<>(random.nextInt(4), v -> "k" + v[0]);
+            HashMap<String, ArrayList<int[]>> expected = new HashMap<>();
+            int keys = 1 + random.nextInt(random.nextBoolean() ? 5 : 300);
+            int size = 0;
+            for (int op = 0; op < OPERATIONS; op++) {
+                int k = random.nextInt(keys);
+                String key = "k" + k;
+                ArrayList<int[]> values = expected.computeIfAbsent(key, x -> new ArrayList<>());
+                int choice = random.nextInt(10);
+                if (choice < 5) {
+                    int[] value = {k, random.nextInt(TAGS), op};
+                    table.put(value);
+                    values.add(value);
+                    size++;
+                } else if (choice == 5 && !values.isEmpty()) {
+                    table.remove(values.remove(random.nextInt(values.size())));
+                    size--;
+                } else if (choice == 6) {
+                    int[] probe = {k, random.nextInt(TAGS), -1};
+                    int first = firstMatch(values, probe);
+                    table.remove(key, probe, BY_TAG);
+                    if (first != -1) {
+                        values.remove(first);
+                        size--;
+                    }
+                } else {
+                    compare(table, key, values, new int[] {k, random.nextInt(TAGS), -1});
+                }
+                if (table.getNumElements() != size) {
+                    fail("holds " + table.getNumElements() + " values, expected " + size);
+                }
+                operations++;
+            }
+            for (String key : expected.keySet()) {
+                compare(table, key, expected.get(key), new int[] {0, 0, -1});
+            }
+            resizes += table.getResizeCount();
+        }
+        System.out.println("OpenHashTable matched in " + operations + " operations over "
+                + resizes + " resizes");
+    }
+
+    /**
+     * Returns the position of the first value with the tag of probe
+     */
+    private static int firstMatch(ArrayList<int[]> values, int[] probe) {
+        for (int i = 0; i < values.size(); i++) {
+            if (BY_TAG.compare(probe, values.get(i)) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Exits with status 1 unless every lookup of key agrees with values
+     */
+    private static void compare(OpenHashTable<int[]> table, String key, ArrayList<int[]> values, int[] probe) {
+        int[] first = values.isEmpty() ? null : values.get(0);
+        if (table.get(key) != first) {
+            fail(key + ": get did not return the first value inserted");
+        }
+        if (table.contains(key) == values.isEmpty()) {
+            fail(key + ": contains is " + table.contains(key));
+        }
+        sameOrder(key + ": getList", table.getList(key), values);
+        ArrayList<int[]> matches = new ArrayList<>();
+        for (int[] value : values) {
+            if (BY_TAG.compare(probe, value) == 0) {
+                matches.add(value);
+            }
+        }
+        sameOrder(key + ": getAll", table.getAll(key, probe, BY_TAG), matches);
+        int[] firstMatch = matches.isEmpty() ? null : matches.get(0);
+        if (table.get(key, probe, BY_TAG) != firstMatch) {
+            fail(key + ": get with a Comparator did not return the first match");
+        }
+    }
+
+    /**
+     * Exits with status 1 unless actual holds the same values as expected,
+     * in the same order, or is null when expected is empty
+     */
+    private static void sameOrder(String what, List<int[]> actual, ArrayList<int[]> expected) {
+        int length = actual == null ? 0 : actual.getLength();
+        if (length != expected.size() || (actual != null && length == 0)) {
+            fail(what + " returned " + length + " values, expected " + expected.size());
+        }
+        int i = 0;
+        if (actual != null) {
+            for (int[] value : actual) {
+                if (value != expected.get(i++)) {
+                    fail(what + " returned value " + i + " out of insertion order");
+                }
+            }
+        }
+    }
+
+    private static void fail(String message) {
+        System.out.println("MISMATCH in " + message);
+        System.exit(1);
+    }
+}
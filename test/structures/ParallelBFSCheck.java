@@ -0,0 +1,118 @@
+package structures;
+
+/**
+ * ParallelBFSCheck.java
+ * @author Jesse Lutan
+ * @author Jesse Friaz
+ * @author Varun Kiragi
+ * @author Tommy Le
+ * @author Y Pham
+ * @author Rohit Pokuri
+ * CIS 22C, Final Project
+ */
+
+import java.util.Random;
+
+/**
+ * Runs ParallelBFS next to Graph.BFS on random graphs and compares the
+ * distance and parent of every vertex, stopping with exit status 1 at the
+ * first difference
+ *
+ * Usage: java structures.ParallelBFSCheck [vertices]
+ * Given a number of vertices, it then also times both searches on one
+ * random undirected graph of that size with five edges per vertex
+ */
+public class ParallelBFSCheck {
+
+    private static final int ROUNDS = 300;
+    private static final int TIMED_RUNS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(22);
+        BFSResult expected = new BFSResult(), actual = new BFSResult();
+        int searches = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            // mostly small graphs, with some large enough to split into tasks
+            int n = round % 10 == 9 ? 20000 + random.nextInt(80000) : 1 + random.nextInt(300);
+            boolean directed = random.nextBoolean();
+            Graph graph = randomGraph(n, random.nextInt(8) * n / 2, directed, random);
+            if (graph.isEmpty()) {
+                continue;
+            }
+            ParallelBFS parallel = new ParallelBFS(graph.snapshot());
+            for (int i = 0; i < 3; i++) {
+                int source = 1 + random.nextInt(n);
+                graph.BFS(source, expected);
+                parallel.BFS(source, actual);
+                compare(expected, actual, n, source, directed);
+                searches++;
+            }
+        }
+        System.out.println("ParallelBFS matched Graph.BFS in " + searches + " searches");
+        if (args.length > 0) {
+            time(Integer.parseInt(args[0]), random);
+        }
+    }
+
+    /**
+     * Builds a graph of n vertices from m random edges
+     */
+    private static Graph randomGraph(int n, int m, boolean directed, Random random) {
+        Graph graph = new Graph(n);
+        for (int i = 0; i < m; i++) {
+            int u = 1 + random.nextInt(n), v = 1 + random.nextInt(n);
+            if (directed) {
+                graph.addDirectedEdge(u, v);
+            } else {
+                graph.addUndirectedEdge(u, v);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Exits with status 1 unless both results agree on every vertex
+     */
+    private static void compare(BFSResult expected, BFSResult actual, int n, int source, boolean directed) {
+        String graph = (directed ? "directed" : "undirected") + " graph of " + n + " vertices from " + source;
+        if (expected.getNumReached() != actual.getNumReached()) {
+            fail(graph + ": reached " + actual.getNumReached() + " vertices, expected " + expected.getNumReached());
+        }
+        for (int v = 1; v <= n; v++) {
+            if (expected.getDistance(v) != actual.getDistance(v)) {
+                fail(graph + ": distance of " + v + " is " + actual.getDistance(v)
+                        + ", expected " + expected.getDistance(v));
+            } else if (expected.getParent(v) != actual.getParent(v)) {
+                fail(graph + ": parent of " + v + " is " + actual.getParent(v)
+                        + ", expected " + expected.getParent(v));
+            }
+        }
+    }
+
+    private static void fail(String message) {
+        System.out.println("MISMATCH in " + message);
+        System.exit(1);
+    }
+
+    /**
+     * Prints the best of a few timed runs of each search on one large graph
+     */
+    private static void time(int n, Random random) {
+        Graph graph = randomGraph(n, 5 * n, false, random);
+        ParallelBFS parallel = new ParallelBFS(graph.snapshot());
+        BFSResult result = new BFSResult();
+        long sequential = Long.MAX_VALUE, forkJoin = Long.MAX_VALUE;
+        for (int run = 0; run < TIMED_RUNS; run++) {
+            int source = 1 + random.nextInt(n);
+            long start = System.nanoTime();
+            graph.BFS(source, result);
+            sequential = Math.min(sequential, System.nanoTime() - start);
+            start = System.nanoTime();
+            parallel.BFS(source, result);
+            forkJoin = Math.min(forkJoin, System.nanoTime() - start);
+        }
+        System.out.printf("%d vertices, %d edges, %d processors: Graph.BFS %d ms, ParallelBFS %d ms%n",
+                n, graph.getNumEdges(), Runtime.getRuntime().availableProcessors(),
+                sequential / 1000000, forkJoin / 1000000);
+    }
+}